@@ -0,0 +1,26 @@
+package com.example.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * The second-level caches are local to each node. In relay mode several
+     * nodes write, and cached query results (ids only) would not see rows
+     * another node inserts until they expire, so the query cache is off there.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCacheCustomizer(
+            @Value("${chat.broker.mode:simple}") String brokerMode) {
+        return properties -> {
+            if ("relay".equalsIgnoreCase(brokerMode)) {
+                properties.put(AvailableSettings.USE_QUERY_CACHE, "false");
+            }
+        };
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every WebSocket session its own bounded outbound queue, written by
+ * a small dedicated sender pool, so a client on a bad connection only ever
+ * blocks one sender thread and never the shared outbound channel.
+ *
+ * When a session's queue is full the policy applies:
+ * drop-oldest  discards the oldest queued MESSAGE frame (never CONNECTED,
+ *              RECEIPT or ERROR frames);
+ * disconnect   closes the session so the client reconnects and resyncs.
+ * A session whose current write has been blocked for longer than the send
+ * time limit is closed under either policy, by a periodic sweep; the
+ * container's own blocking-send timeout is capped at the same limit, so a
+ * stalled client holds a sender thread for at most that long.
+ */
+@Component
+public class SlowConsumerPolicy implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowConsumerPolicy.class);
+
+    // Tomcat's per-session bound on a blocking WebSocket write
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final boolean dropOldest;
+    private final int maxQueuedMessages;
+    private final long sendTimeLimitMs;
+    private final ThreadPoolTaskExecutor senders;
+
+    private final Set<SessionQueue> sessions = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary queueDepth;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public SlowConsumerPolicy(MeterRegistry meterRegistry,
+            @Value("${chat.ws.slow-consumer.policy:drop-oldest}") String policy,
+            @Value("${chat.ws.slow-consumer.max-queued-messages:256}") int maxQueuedMessages,
+            @Value("${chat.ws.send-time-limit-ms:10000}") long sendTimeLimitMs,
+            @Value("${chat.ws.sender-threads:16}") int senderThreads,
+            @Value("${chat.ws.sender-queue-capacity:10000}") int senderQueueCapacity) {
+        this.dropOldest = !"disconnect".equalsIgnoreCase(policy);
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+
+        this.senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(senderThreads);
+        senders.setMaxPoolSize(senderThreads);
+        // At most one pending drain per session; a full queue closes the session
+        senders.setQueueCapacity(senderQueueCapacity);
+        senders.setThreadNamePrefix("ws-sender-");
+        senders.setDaemon(true);
+        senders.initialize();
+
+        Gauge.builder("chat.ws.sessions", sessions, Set::size)
+                .register(meterRegistry);
+        Gauge.builder("chat.ws.session.queue.max", sessions,
+                        s -> s.stream().mapToInt(SessionQueue::depth).max().orElse(0))
+                .description("Deepest outbound queue of any session")
+                .register(meterRegistry);
+        this.queueDepth = DistributionSummary.builder("chat.ws.session.queue.depth")
+                .description("Per-session outbound queue depth, sampled on each send")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("chat.ws.slow_consumer.dropped")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("chat.ws.slow_consumer.disconnected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                if (session instanceof NativeWebSocketSession nativeSession) {
+                    jakarta.websocket.Session endpoint =
+                            nativeSession.getNativeSession(jakarta.websocket.Session.class);
+                    if (endpoint != null) {
+                        endpoint.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+                    }
+                }
+                SessionQueue queue = new SessionQueue(session);
+                sessions.add(queue);
+                super.afterConnectionEstablished(queue);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status)
+                    throws Exception {
+                sessions.removeIf(q -> q.getId().equals(session.getId()));
+                super.afterConnectionClosed(session, status);
+            }
+        };
+    }
+
+    // ── Stalled-send sweep ───────────────────────────────────────────────────
+
+    // Catches a stuck write even when nothing else is queued for that session
+    @Scheduled(fixedDelayString = "${chat.ws.slow-consumer.sweep-interval-ms:1000}")
+    public void closeStalledSessions() {
+        long now = System.currentTimeMillis();
+        for (SessionQueue queue : sessions) {
+            if (queue.isStalled(now)) {
+                log.debug("WebSocket session {} blocked in send for over {} ms; closing",
+                        queue.getId(), sendTimeLimitMs);
+                queue.abort();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdown();
+    }
+
+    private class SessionQueue extends WebSocketSessionDecorator {
+
+        private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closing;
+        private volatile long sendStartedAt;
+
+        SessionQueue(WebSocketSession session) {
+            super(session);
+        }
+
+        int depth() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStartedAt;
+            return started > 0 && now - started > sendTimeLimitMs;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            boolean close = false;
+            synchronized (queue) {
+                if (closing) {
+                    return;
+                }
+                if (isStalled(System.currentTimeMillis())) {
+                    close = true;
+                } else if (queue.size() >= maxQueuedMessages) {
+                    close = !(dropOldest && dropOldestMessageFrame());
+                }
+
+                if (!close) {
+                    queue.addLast(message);
+                    queueDepth.record(queue.size());
+                    if (!draining) {
+                        try {
+                            senders.execute(this::drain);
+                            draining = true;
+                        } catch (TaskRejectedException e) {
+                            // Every sender is busy and the backlog is full
+                            close = true;
+                        }
+                    }
+                }
+            }
+            if (close) {
+                abort();
+            }
+        }
+
+        /** Drops everything queued and closes the session (once). */
+        void abort() {
+            synchronized (queue) {
+                if (closing) {
+                    return;
+                }
+                closing = true;
+                queue.clear();
+            }
+            sessions.remove(this);
+            disconnected.increment();
+            closeQuietly();
+        }
+
+        // Caller holds the queue lock
+        private boolean dropOldestMessageFrame() {
+            Iterator<WebSocketMessage<?>> it = queue.iterator();
+            while (it.hasNext()) {
+                WebSocketMessage<?> queued = it.next();
+                if (queued instanceof TextMessage text && text.getPayload().startsWith("MESSAGE")) {
+                    it.remove();
+                    dropped.increment();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void drain() {
+            while (true) {
+                WebSocketMessage<?> next;
+                synchronized (queue) {
+                    next = queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    sendStartedAt = System.currentTimeMillis();
+                    getDelegate().sendMessage(next);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("WebSocket send to session {} failed", getId(), e);
+                    synchronized (queue) {
+                        closing = true;
+                        queue.clear();
+                        draining = false;
+                    }
+                    closeQuietly();
+                    return;
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Closing WebSocket session {} failed", getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a contractor's application inbox: the application with the
+ * job and applicant fields the inbox shows, without the entity graphs.
+ */
+public class ApplicationInboxDTO {
+
+    private Long applicationId;
+    private String status;
+    private String coverNote;
+    private Double proposedRate;
+    private String availableFrom;
+    private LocalDateTime appliedAt;
+    private LocalDateTime acceptedAt;
+    private Long jobId;
+    private String jobTitle;
+    private String jobStatus;
+    private Long workerId;
+    private Long workerUserId;
+    private String workerName;
+    private String workerLocation;
+    private Double workerHourlyRate;
+    private Integer workerExperience;
+
+    public ApplicationInboxDTO(Long applicationId, String status, String coverNote,
+                               Double proposedRate, String availableFrom,
+                               LocalDateTime appliedAt, LocalDateTime acceptedAt,
+                               Long jobId, String jobTitle, String jobStatus,
+                               Long workerId, Long workerUserId, String workerName,
+                               String workerLocation, Double workerHourlyRate,
+                               Integer workerExperience) {
+        this.applicationId = applicationId;
+        this.status = status;
+        this.coverNote = coverNote;
+        this.proposedRate = proposedRate;
+        this.availableFrom = availableFrom;
+        this.appliedAt = appliedAt;
+        this.acceptedAt = acceptedAt;
+        this.jobId = jobId;
+        this.jobTitle = jobTitle;
+        this.jobStatus = jobStatus;
+        this.workerId = workerId;
+        this.workerUserId = workerUserId;
+        this.workerName = workerName;
+        this.workerLocation = workerLocation;
+        this.workerHourlyRate = workerHourlyRate;
+        this.workerExperience = workerExperience;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCoverNote() {
+        return coverNote;
+    }
+
+    public Double getProposedRate() {
+        return proposedRate;
+    }
+
+    public String getAvailableFrom() {
+        return availableFrom;
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public String getJobStatus() {
+        return jobStatus;
+    }
+
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public Long getWorkerUserId() {
+        return workerUserId;
+    }
+
+    public String getWorkerName() {
+        return workerName;
+    }
+
+    public String getWorkerLocation() {
+        return workerLocation;
+    }
+
+    public Double getWorkerHourlyRate() {
+        return workerHourlyRate;
+    }
+
+    public Integer getWorkerExperience() {
+        return workerExperience;
+    }
+}
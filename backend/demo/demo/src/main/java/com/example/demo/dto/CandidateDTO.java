@@ -0,0 +1,102 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * A worker ranked against a job. {@code score} is the weighted sum of the
+ * component scores, each of which is in [0, 1].
+ */
+public class CandidateDTO {
+
+    private Long workerId;
+    private Long userId;
+    private String name;
+    private String location;
+    private Double hourlyRate;
+    private Integer experience;
+    private String availability;
+    private List<String> matchedSkills;
+    private double score;
+    private double skillScore;
+    private double rateScore;
+    private double experienceScore;
+    private double availabilityScore;
+    private double locationScore;
+
+    public CandidateDTO(Long workerId, Long userId, String name, String location,
+                        Double hourlyRate, Integer experience, String availability,
+                        List<String> matchedSkills, double score, double skillScore,
+                        double rateScore, double experienceScore,
+                        double availabilityScore, double locationScore) {
+        this.workerId = workerId;
+        this.userId = userId;
+        this.name = name;
+        this.location = location;
+        this.hourlyRate = hourlyRate;
+        this.experience = experience;
+        this.availability = availability;
+        this.matchedSkills = matchedSkills;
+        this.score = score;
+        this.skillScore = skillScore;
+        this.rateScore = rateScore;
+        this.experienceScore = experienceScore;
+        this.availabilityScore = availabilityScore;
+        this.locationScore = locationScore;
+    }
+
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Double getHourlyRate() {
+        return hourlyRate;
+    }
+
+    public Integer getExperience() {
+        return experience;
+    }
+
+    public String getAvailability() {
+        return availability;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public double getSkillScore() {
+        return skillScore;
+    }
+
+    public double getRateScore() {
+        return rateScore;
+    }
+
+    public double getExperienceScore() {
+        return experienceScore;
+    }
+
+    public double getAvailabilityScore() {
+        return availabilityScore;
+    }
+
+    public double getLocationScore() {
+        return locationScore;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.ChatMessage;
+import java.util.List;
+
+/**
+ * One page of a conversation, newest message first.
+ * Pass {@code nextBefore} as {@code before} to load older messages and
+ * {@code nextAfter} as {@code after} to catch up on newer ones.
+ */
+public class ChatHistoryPageDTO {
+
+    private List<ChatMessage> messages;
+    private Long nextBefore;
+    private Long nextAfter;
+    private boolean hasMore;
+
+    public ChatHistoryPageDTO(List<ChatMessage> messages, Long nextBefore,
+                              Long nextAfter, boolean hasMore) {
+        this.messages = messages;
+        this.nextBefore = nextBefore;
+        this.nextAfter = nextAfter;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChatMessage> getMessages() {
+        return messages;
+    }
+
+    public Long getNextBefore() {
+        return nextBefore;
+    }
+
+    public Long getNextAfter() {
+        return nextAfter;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
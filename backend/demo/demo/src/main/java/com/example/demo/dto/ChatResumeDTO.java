@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+/** STOMP /app/chat.resume payload sent by a client after reconnecting */
+public class ChatResumeDTO {
+
+    private Long userId;
+    private Long since;
+    private Integer limit;
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getSince() { return since; }
+    public void setSince(Long since) { this.since = since; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.ChatMessage;
+import java.util.List;
+
+/**
+ * Messages for a user above a client high-water mark, oldest first.
+ * Call again with {@code since = nextSince} while {@code hasMore} is true.
+ */
+public class ChatSyncDTO {
+
+    private List<ChatMessage> messages;
+    private Long nextSince;
+    private boolean hasMore;
+
+    public ChatSyncDTO(List<ChatMessage> messages, Long nextSince, boolean hasMore) {
+        this.messages = messages;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChatMessage> getMessages() {
+        return messages;
+    }
+
+    public Long getNextSince() {
+        return nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lean job-board row: the job's own columns plus the contractor's id and
+ * company name, without the nested Contractor and User graphs.
+ */
+public class JobListingDTO {
+
+    private Long id;
+    private String title;
+    private String location;
+    private Double payRate;
+    private String duration;
+    private String skillsRequired;
+    private String status;
+    private Integer requiredWorkers;
+    private LocalDateTime createdAt;
+    private Long contractorId;
+    private String companyName;
+
+    public JobListingDTO(Long id, String title, String location, Double payRate,
+                         String duration, String skillsRequired, String status,
+                         Integer requiredWorkers, LocalDateTime createdAt,
+                         Long contractorId, String companyName) {
+        this.id = id;
+        this.title = title;
+        this.location = location;
+        this.payRate = payRate;
+        this.duration = duration;
+        this.skillsRequired = skillsRequired;
+        this.status = status;
+        this.requiredWorkers = requiredWorkers;
+        this.createdAt = createdAt;
+        this.contractorId = contractorId;
+        this.companyName = companyName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Double getPayRate() {
+        return payRate;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public String getSkillsRequired() {
+        return skillsRequired;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getRequiredWorkers() {
+        return requiredWorkers;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getContractorId() {
+        return contractorId;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of the job board, newest first. Pass {@code nextCreatedAt} and
+ * {@code nextId} back as the cursor to load the following page.
+ */
+public class JobPageDTO {
+
+    private List<JobListingDTO> jobs;
+    private LocalDateTime nextCreatedAt;
+    private Long nextId;
+    private boolean hasMore;
+
+    public JobPageDTO(List<JobListingDTO> jobs, LocalDateTime nextCreatedAt,
+                      Long nextId, boolean hasMore) {
+        this.jobs = jobs;
+        this.nextCreatedAt = nextCreatedAt;
+        this.nextId = nextId;
+        this.hasMore = hasMore;
+    }
+
+    public List<JobListingDTO> getJobs() {
+        return jobs;
+    }
+
+    public LocalDateTime getNextCreatedAt() {
+        return nextCreatedAt;
+    }
+
+    public Long getNextId() {
+        return nextId;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
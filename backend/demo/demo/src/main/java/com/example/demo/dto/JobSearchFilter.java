@@ -0,0 +1,50 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional job-board filters; null fields are ignored.
+ */
+public class JobSearchFilter {
+
+    private String status;
+    private String location;
+    private String skill;
+    private Double minPay;
+    private Double maxPay;
+    private LocalDateTime createdAfter;
+
+    public JobSearchFilter(String status, String location, String skill,
+                           Double minPay, Double maxPay, LocalDateTime createdAfter) {
+        this.status = status;
+        this.location = location;
+        this.skill = skill;
+        this.minPay = minPay;
+        this.maxPay = maxPay;
+        this.createdAfter = createdAfter;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getSkill() {
+        return skill;
+    }
+
+    public Double getMinPay() {
+        return minPay;
+    }
+
+    public Double getMaxPay() {
+        return maxPay;
+    }
+
+    public LocalDateTime getCreatedAfter() {
+        return createdAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+public class NearbyJobDTO {
+
+    private JobListingDTO job;
+    private double distanceKm;
+
+    public NearbyJobDTO(JobListingDTO job, double distanceKm) {
+        this.job = job;
+        this.distanceKm = distanceKm;
+    }
+
+    public JobListingDTO getJob() {
+        return job;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+public class NearbyWorkerDTO {
+
+    private Long workerId;
+    private String name;
+    private String location;
+    private double distanceKm;
+
+    public NearbyWorkerDTO(Long workerId, String name, String location, double distanceKm) {
+        this.workerId = workerId;
+        this.name = name;
+        this.location = location;
+        this.distanceKm = distanceKm;
+    }
+
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.NotificationOutbox;
+import java.time.LocalDateTime;
+
+/**
+ * Compact notification frame pushed to /topic/notifications/{userId}.
+ * {@code id} is the outbox id; delivery is at-least-once, so clients
+ * should ignore ids they have already seen.
+ */
+public class NotificationDTO {
+
+    private Long id;
+    private String type;
+    private Long referenceId;
+    private String status;
+    private String message;
+    private LocalDateTime createdAt;
+
+    public NotificationDTO(NotificationOutbox row) {
+        this.id = row.getId();
+        this.type = row.getType();
+        this.referenceId = row.getReferenceId();
+        this.status = row.getStatus();
+        this.message = row.getMessage();
+        this.createdAt = row.getCreatedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getReferenceId() {
+        return referenceId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
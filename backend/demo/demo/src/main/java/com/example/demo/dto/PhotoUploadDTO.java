@@ -0,0 +1,26 @@
+package com.example.demo.dto;
+
+public class PhotoUploadDTO {
+
+    private String hash;
+    private String url;
+    private String thumbnailUrl;
+
+    public PhotoUploadDTO(String hash, String url, String thumbnailUrl) {
+        this.hash = hash;
+        this.url = url;
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+}
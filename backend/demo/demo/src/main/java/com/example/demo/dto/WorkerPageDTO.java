@@ -0,0 +1,41 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * One page of worker search results. Pass {@code nextValue} and
+ * {@code nextId} back as the cursor to load the following page;
+ * {@code nextValue} is the sort column of the last row (null for sort=id
+ * or when that row has no value, which sort last).
+ */
+public class WorkerPageDTO {
+
+    private List<WorkerSummaryDTO> workers;
+    private Double nextValue;
+    private Long nextId;
+    private boolean hasMore;
+
+    public WorkerPageDTO(List<WorkerSummaryDTO> workers, Double nextValue,
+                         Long nextId, boolean hasMore) {
+        this.workers = workers;
+        this.nextValue = nextValue;
+        this.nextId = nextId;
+        this.hasMore = hasMore;
+    }
+
+    public List<WorkerSummaryDTO> getWorkers() {
+        return workers;
+    }
+
+    public Double getNextValue() {
+        return nextValue;
+    }
+
+    public Long getNextId() {
+        return nextId;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Optional worker-search filters; null or empty fields are ignored.
+ * With {@code matchAllSkills} a worker must have every listed skill,
+ * otherwise any one of them. Skill, certification and availability
+ * matches are case-insensitive.
+ */
+public class WorkerSearchFilter {
+
+    /** Result order; ties are broken by worker id in the same direction. */
+    public enum Sort {
+        ID, RATE_ASC, RATE_DESC, EXPERIENCE_DESC;
+
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            return Sort.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private List<String> skills;
+    private boolean matchAllSkills;
+    private String certification;
+    private Double minRate;
+    private Double maxRate;
+    private Integer minExperience;
+    private String availability;
+    private String location;
+
+    public WorkerSearchFilter(List<String> skills, boolean matchAllSkills, String certification,
+                              Double minRate, Double maxRate, Integer minExperience,
+                              String availability, String location) {
+        this.skills = skills;
+        this.matchAllSkills = matchAllSkills;
+        this.certification = certification;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.minExperience = minExperience;
+        this.availability = availability;
+        this.location = location;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public boolean isMatchAllSkills() {
+        return matchAllSkills;
+    }
+
+    public String getCertification() {
+        return certification;
+    }
+
+    public Double getMinRate() {
+        return minRate;
+    }
+
+    public Double getMaxRate() {
+        return maxRate;
+    }
+
+    public Integer getMinExperience() {
+        return minExperience;
+    }
+
+    public String getAvailability() {
+        return availability;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.dto;
+
+/** Worker list row: profile basics without the skill and certification collections. */
+public class WorkerSummaryDTO {
+
+    private Long id;
+    private Long userId;
+    private String name;
+    private String location;
+    private String profilePhoto;
+    private Integer experience;
+    private Double hourlyRate;
+    private String availability;
+
+    public WorkerSummaryDTO(Long id, Long userId, String name, String location,
+                            String profilePhoto, Integer experience,
+                            Double hourlyRate, String availability) {
+        this.id = id;
+        this.userId = userId;
+        this.name = name;
+        this.location = location;
+        this.profilePhoto = profilePhoto;
+        this.experience = experience;
+        this.hourlyRate = hourlyRate;
+        this.availability = availability;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getProfilePhoto() {
+        return profilePhoto;
+    }
+
+    public Integer getExperience() {
+        return experience;
+    }
+
+    public Double getHourlyRate() {
+        return hourlyRate;
+    }
+
+    public String getAvailability() {
+        return availability;
+    }
+}
@@ -5,7 +5,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "applications")
+@Table(
+    name = "applications",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_application_job_worker",
+        columnNames = {"job_id", "worker_id"}),
+    indexes = @Index(name = "idx_application_job_status", columnList = "job_id, status")
+)
 public class Application {
 
     @Id
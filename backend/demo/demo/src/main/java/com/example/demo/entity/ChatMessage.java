@@ -1,32 +1,76 @@
 package com.example.demo.entity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
-public class ChatMessage {
+@Table(
+    name = "chat_messages",
+    indexes = {
+        @Index(name = "idx_chat_conversation_time", columnList = "conversation_key, created_at"),
+        @Index(name = "idx_chat_conversation_id", columnList = "conversation_key, id"),
+        @Index(name = "idx_chat_sender_id", columnList = "sender_id, id"),
+        @Index(name = "idx_chat_receiver_id", columnList = "receiver_id, id")
+    }
+)
+public class ChatMessage implements Persistable<Long> {
 
+    /** Assigned up front by ChatMessageIdAllocator so inserts can be batched */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private Long senderId;
     private Long receiverId;
 
+    /** "minId:maxId" of the two participants, the same for both directions */
+    @JsonIgnore
+    @Column(name = "conversation_key", length = 41)
+    private String conversationKey;
+
     @Column(length = 1000)
     private String content;
 
     @Column(name = "created_at")
     private LocalDateTime timestamp;
 
+    /** Filled in from the conversation read watermark when history is loaded */
     @Column(name = "is_read")
     private boolean read = false;
 
+    @Transient
+    private boolean isNew = true;
+
     @PrePersist
     public void onCreate() {
-        timestamp = LocalDateTime.now();
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+        if (conversationKey == null) {
+            conversationKey = conversationKey(senderId, receiverId);
+        }
     }
-    
+
+    public static String conversationKey(Long a, Long b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        return Math.min(a, b) + ":" + Math.max(a, b);
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @Override
     public Long getId() {
         return id;
     }
@@ -51,6 +95,14 @@ public class ChatMessage {
         this.receiverId = receiverId;
     }
 
+    public String getConversationKey() {
+        return conversationKey;
+    }
+
+    public void setConversationKey(String conversationKey) {
+        this.conversationKey = conversationKey;
+    }
+
     public String getContent() {
         return content;
     }
@@ -1,9 +1,12 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "contractors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contractors")
 public class Contractor {
 
     @Id
@@ -0,0 +1,76 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (owner, contact) pair, kept up to date on every send and
+ * mark-read so the contacts list never has to scan chat_messages.
+ * The owner's read state is the last_read_message_id watermark, so
+ * marking a chat read touches only this row.
+ */
+@Entity
+@Table(
+    name = "conversations",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_conversation_owner_contact",
+        columnNames = {"owner_id", "contact_id"}),
+    indexes = @Index(
+        name = "idx_conversation_owner_time",
+        columnList = "owner_id, last_message_time")
+)
+public class Conversation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "contact_id", nullable = false)
+    private Long contactId;
+
+    /** Same key as ChatMessage.conversationKey for this pair */
+    @Column(name = "conversation_key", length = 41)
+    private String conversationKey;
+
+    @Column(name = "last_message", length = 1000)
+    private String lastMessage;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_time")
+    private LocalDateTime lastMessageTime;
+
+    /** Messages from contact to owner that the owner has not read yet */
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    /** Highest message id the owner has read; everything above it is unread */
+    @Column(name = "last_read_message_id")
+    private Long lastReadMessageId;
+
+    // ── Getters ──────────────────────────────────────────────────────────────
+
+    public Long getId() { return id; }
+
+    public Long getOwnerId() { return ownerId; }
+
+    public Long getContactId() { return contactId; }
+
+    public String getConversationKey() { return conversationKey; }
+
+    public String getLastMessage() { return lastMessage; }
+
+    public Long getLastMessageId() { return lastMessageId; }
+
+    public LocalDateTime getLastMessageTime() { return lastMessageTime; }
+
+    public long getUnreadCount() { return unreadCount; }
+
+    public long getLastReadMessageId() {
+        return lastReadMessageId != null ? lastReadMessageId : 0L;
+    }
+}
@@ -8,7 +8,16 @@ import com.example.demo.entity.Contractor;
 import com.example.demo.entity.Application;
 
 @Entity
-@Table(name = "jobs")
+@Table(
+    name = "jobs",
+    indexes = {
+        // Job board: newest first, optionally narrowed by status
+        @Index(name = "idx_job_created", columnList = "created_at, id"),
+        @Index(name = "idx_job_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_job_pay_rate", columnList = "pay_rate"),
+        @Index(name = "idx_job_contractor", columnList = "contractor_id")
+    }
+)
 public class Job {
 
     @Id
@@ -21,6 +30,11 @@ public class Job {
     @Column(nullable = true)
     private String location;
 
+    /** Resolved from location by the offline geocoder; null when unknown */
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(nullable = true)
     private Double payRate;
 
@@ -32,6 +46,11 @@ public class Job {
 
     private String skillsRequired;
 
+    /** Bitset of skill ids from the skill dictionary; bit i set = skill id i */
+    @JsonIgnore
+    @Column(name = "skill_mask")
+    private long[] skillMask;
+
     @Column(nullable = true)
     private String status = "OPEN";
 
@@ -62,6 +81,12 @@ public class Job {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public Double getPayRate() { return payRate; }
     public void setPayRate(Double payRate) { this.payRate = payRate; }
 
@@ -74,6 +99,9 @@ public class Job {
     public String getSkillsRequired() { return skillsRequired; }
     public void setSkillsRequired(String skillsRequired) { this.skillsRequired = skillsRequired; }
 
+    public long[] getSkillMask() { return skillMask; }
+    public void setSkillMask(long[] skillMask) { this.skillMask = skillMask; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
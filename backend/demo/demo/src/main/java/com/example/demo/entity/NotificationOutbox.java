@@ -0,0 +1,82 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be pushed to a user. Rows are written in the
+ * same transaction as the status change they describe and are stamped
+ * dispatched_at once the relay has sent them over STOMP.
+ */
+@Entity
+@Table(
+    name = "notification_outbox",
+    indexes = @Index(name = "idx_outbox_pending", columnList = "dispatched_at, id")
+)
+public class NotificationOutbox {
+
+    public static final String APPLICATION_STATUS = "APPLICATION_STATUS";
+    public static final String JOB_STATUS = "JOB_STATUS";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Recipient user id; frames go to /topic/notifications/{userId} */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** APPLICATION_STATUS | JOB_STATUS */
+    @Column(nullable = false, length = 40)
+    private String type;
+
+    /** Id of the application or job the notification is about */
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @Column(length = 40)
+    private String status;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    public NotificationOutbox() {}
+
+    public NotificationOutbox(Long userId, String type, Long referenceId,
+                              String status, String message) {
+        this.userId = userId;
+        this.type = type;
+        this.referenceId = referenceId;
+        this.status = status;
+        this.message = message;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // ── Getters ──────────────────────────────────────────────────────────────
+
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public String getType() { return type; }
+
+    public Long getReferenceId() { return referenceId; }
+
+    public String getStatus() { return status; }
+
+    public String getMessage() { return message; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getDispatchedAt() { return dispatchedAt; }
+}
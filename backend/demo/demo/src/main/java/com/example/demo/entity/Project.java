@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDate;
@@ -22,6 +23,11 @@ public class Project {
     @Column
     private String location;
 
+    /** Resolved from location by the offline geocoder; null when unknown */
+    private Double latitude;
+
+    private Double longitude;
+
     /** active | paused | completed */
     @Column(nullable = false)
     private String status = "active";
@@ -46,6 +52,11 @@ public class Project {
     @Column(length = 500)
     private String skills;
 
+    /** Bitset of skill ids from the skill dictionary; bit i set = skill id i */
+    @JsonIgnore
+    @Column(name = "skill_mask")
+    private long[] skillMask;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
@@ -81,6 +92,12 @@ public class Project {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
@@ -102,6 +119,9 @@ public class Project {
     public String getSkills() { return skills; }
     public void setSkills(String skills) { this.skills = skills; }
 
+    public long[] getSkillMask() { return skillMask; }
+    public void setSkillMask(long[] skillMask) { this.skillMask = skillMask; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
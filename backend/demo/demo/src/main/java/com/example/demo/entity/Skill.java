@@ -0,0 +1,40 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per distinct skill. The id doubles as the skill's bit position
+ * in the skillMask bitsets on Job, Project and Worker, so ids are never
+ * reused or renumbered.
+ */
+@Entity
+@Table(
+    name = "skills",
+    uniqueConstraints = @UniqueConstraint(name = "uk_skill_name", columnNames = "name")
+)
+public class Skill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * As long as the longest column a skill is read from (projects.skills),
+     * so interning never fails on a value its source row already accepted.
+     */
+    public static final int MAX_LENGTH = 500;
+
+    /** Normalized form: trimmed, lower case, single spaces */
+    @Column(nullable = false, length = MAX_LENGTH)
+    private String name;
+
+    /** Spelling first seen, for display */
+    @Column(length = MAX_LENGTH)
+    private String label;
+
+    public Integer getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getLabel() { return label; }
+}
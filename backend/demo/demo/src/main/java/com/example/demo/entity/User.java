@@ -1,9 +1,15 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 public class User {
 
     @Id
@@ -11,6 +17,7 @@ public class User {
     private Long id;
 
     private String name;
+    @NaturalId(mutable = true)
     private String email;
     private String phone;
     private String role;
@@ -18,6 +25,10 @@ public class User {
     private String bio;
     private String profilePhoto;
 
+    // Resolved from location by the offline geocoder; null when unknown
+    private Double latitude;
+    private Double longitude;
+
     // getters & setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -37,6 +48,12 @@ public class User {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getBio() { return bio; }
     public void setBio(String bio) { this.bio = bio; }
 
@@ -1,20 +1,42 @@
 package com.example.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import java.util.List;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.Set;
 
 @Entity
-@Table(name = "workers")
+@Table(
+    name = "workers",
+    indexes = {
+        @Index(name = "idx_worker_rate", columnList = "hourly_rate, id"),
+        @Index(name = "idx_worker_experience", columnList = "experience, id")
+    }
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workers")
 public class Worker {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "worker_skills", joinColumns = @JoinColumn(name = "worker_id"))
+    /** Loaded on first access, for up to 100 workers per query */
+    @ElementCollection
+    @BatchSize(size = 100)
+    @OrderBy
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "worker-skills")
+    @CollectionTable(name = "worker_skills", joinColumns = @JoinColumn(name = "worker_id"),
+            indexes = @Index(name = "idx_worker_skills_worker", columnList = "worker_id"))
     @Column(name = "skill")
-    private List<String> skills;
+    private Set<String> skills;
+
+    /** Bitset of skill ids from the skill dictionary; bit i set = skill id i */
+    @JsonIgnore
+    @Column(name = "skill_mask")
+    private long[] skillMask;
 
     private Integer experience;
 
@@ -22,10 +44,14 @@ public class Worker {
 
     private String availability;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "worker_certifications", joinColumns = @JoinColumn(name = "worker_id"))
+    @ElementCollection
+    @BatchSize(size = 100)
+    @OrderBy
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "worker-certifications")
+    @CollectionTable(name = "worker_certifications", joinColumns = @JoinColumn(name = "worker_id"),
+            indexes = @Index(name = "idx_worker_certifications_worker", columnList = "worker_id"))
     @Column(name = "certification")
-    private List<String> certifications;
+    private Set<String> certifications;
 
     @OneToOne
     @JoinColumn(name = "user_id", nullable = false, unique = true)
@@ -37,8 +63,11 @@ public class Worker {
 
     public Long getId() { return id; }
 
-    public List<String> getSkills() { return skills; }
-    public void setSkills(List<String> skills) { this.skills = skills; }
+    public Set<String> getSkills() { return skills; }
+    public void setSkills(Set<String> skills) { this.skills = skills; }
+
+    public long[] getSkillMask() { return skillMask; }
+    public void setSkillMask(long[] skillMask) { this.skillMask = skillMask; }
 
     public Integer getExperience() { return experience; }
     public void setExperience(Integer experience) { this.experience = experience; }
@@ -49,8 +78,8 @@ public class Worker {
     public String getAvailability() { return availability; }
     public void setAvailability(String availability) { this.availability = availability; }
 
-    public List<String> getCertifications() { return certifications; }
-    public void setCertifications(List<String> certifications) { this.certifications = certifications; }
+    public Set<String> getCertifications() { return certifications; }
+    public void setCertifications(Set<String> certifications) { this.certifications = certifications; }
 
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
@@ -1,17 +1,186 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.ApplicationInboxDTO;
 import com.example.demo.entity.Application;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
 
     /** All applications for a given job (used by contractor dashboard) */
+    @EntityGraph(attributePaths = {"job", "worker", "worker.user"})
     List<Application> findByJobId(Long jobId);
 
     /** All applications submitted by a worker (used by worker dashboard) */
+    @EntityGraph(attributePaths = {"job", "worker", "worker.user"})
     List<Application> findByWorkerId(Long workerId);
+
+    /** Every application to a contractor's jobs, job and applicant fetched in the same query */
+    @Query("""
+        SELECT a FROM Application a
+        JOIN FETCH a.job j
+        JOIN FETCH a.worker w
+        JOIN FETCH w.user
+        WHERE j.contractor.id = :contractorId
+        ORDER BY a.appliedAt DESC, a.id DESC
+    """)
+    List<Application> findByContractorIdWithJobAndWorker(@Param("contractorId") Long contractorId);
+
+    /** Contractor inbox page, optionally narrowed to one status and/or one job */
+    @Query(value = """
+        SELECT new com.example.demo.dto.ApplicationInboxDTO(
+            a.id, a.status, a.coverNote, a.proposedRate, a.availableFrom,
+            a.appliedAt, a.acceptedAt, j.id, j.title, j.status,
+            w.id, u.id, u.name, u.location, w.hourlyRate, w.experience)
+        FROM Application a
+        JOIN a.job j
+        JOIN a.worker w
+        JOIN w.user u
+        WHERE j.contractor.id = :contractorId
+        AND (:status IS NULL OR a.status = :status)
+        AND (:jobId IS NULL OR j.id = :jobId)
+        ORDER BY a.appliedAt DESC, a.id DESC
+    """, countQuery = """
+        SELECT COUNT(a) FROM Application a
+        JOIN a.job j
+        WHERE j.contractor.id = :contractorId
+        AND (:status IS NULL OR a.status = :status)
+        AND (:jobId IS NULL OR j.id = :jobId)
+    """)
+    Page<ApplicationInboxDTO> findInbox(
+        @Param("contractorId") Long contractorId,
+        @Param("status") String status,
+        @Param("jobId") Long jobId,
+        Pageable pageable
+    );
+
+    /** User ids of the workers whose application to the job has the given status */
+    @Query("""
+        SELECT u.id FROM Application a
+        JOIN a.worker w
+        JOIN w.user u
+        WHERE a.job.id = :jobId AND a.status = :status
+    """)
+    List<Long> findWorkerUserIds(@Param("jobId") Long jobId, @Param("status") String status);
+
+    /** Which of the given ids exist */
+    @Query("SELECT a.id FROM Application a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /** Set-based status change; acceptedAt is stamped once, on first acceptance */
+    @Modifying
+    @Query("""
+        UPDATE Application a
+        SET a.status = :status,
+            a.acceptedAt = CASE
+                WHEN :stampAccepted = true AND a.acceptedAt IS NULL THEN :now
+                ELSE a.acceptedAt END
+        WHERE a.id IN :ids
+    """)
+    int updateStatusIn(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") String status,
+        @Param("stampAccepted") boolean stampAccepted,
+        @Param("now") LocalDateTime now
+    );
+
+    /** One outbox row per updated application, addressed to the applicant */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_outbox"))
+    @Modifying
+    @Query(value = """
+        INSERT INTO notification_outbox
+            (user_id, type, reference_id, status, message, created_at)
+        SELECT w.user_id, 'APPLICATION_STATUS', a.id, :status,
+               CASE WHEN j.title IS NULL
+                    THEN 'Your application is now ' || :status
+                    ELSE 'Your application for "' || j.title || '" is now ' || :status
+               END,
+               :now
+        FROM applications a
+        JOIN workers w ON w.id = a.worker_id
+        JOIN jobs j ON j.id = a.job_id
+        WHERE a.id IN :ids
+    """, nativeQuery = true)
+    int insertStatusNotifications(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") String status,
+        @Param("now") LocalDateTime now
+    );
+
+    /** Duplicate-application check; a single probe of the (job_id, worker_id) unique index */
+    boolean existsByJobIdAndWorkerId(Long jobId, Long workerId);
+
+    /** (job_id, worker_id, count) for pairs applied to more than once, most repeated first */
+    @Query(value = """
+        SELECT job_id, worker_id, COUNT(*) AS applications
+        FROM applications
+        GROUP BY job_id, worker_id
+        HAVING COUNT(*) > 1
+        ORDER BY applications DESC, job_id, worker_id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findDuplicateApplications(@Param("limit") int limit);
+
+    /**
+     * Removes duplicate applications left from before the unique constraint,
+     * keeping an accepted one if there is one, otherwise the earliest.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "applications"))
+    @Modifying
+    @Query(value = """
+        DELETE FROM applications a
+        USING (
+            SELECT id, ROW_NUMBER() OVER (
+                PARTITION BY job_id, worker_id
+                ORDER BY (status = 'ACCEPTED') DESC, id) AS rn
+            FROM applications
+        ) ranked
+        WHERE a.id = ranked.id AND ranked.rn > 1
+    """, nativeQuery = true)
+    int deleteDuplicateApplications();
+
+    /** Names of the unique indexes on exactly (job_id, worker_id) */
+    @Query(value = """
+        SELECT c.relname
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'applications'::regclass
+        AND i.indisunique
+        AND i.indpred IS NULL
+        AND i.indnatts = 2
+        AND (SELECT array_agg(a.attname::text ORDER BY a.attname)
+             FROM pg_attribute a
+             WHERE a.attrelid = i.indrelid AND a.attnum = ANY (i.indkey))
+            = ARRAY['job_id', 'worker_id']
+    """, nativeQuery = true)
+    List<String> findJobWorkerUniqueIndexes();
+
+    /** The entity's constraint, for tables where schema update could not add it */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "applications"))
+    @Modifying
+    @Query(value = """
+        ALTER TABLE applications
+        ADD CONSTRAINT uk_application_job_worker UNIQUE (job_id, worker_id)
+    """, nativeQuery = true)
+    void addJobWorkerUniqueConstraint();
+
+    /** Index created by earlier builds next to the constraint; it duplicates it */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "applications"))
+    @Modifying
+    @Query(value = "DROP INDEX IF EXISTS uk_application_job_worker_idx", nativeQuery = true)
+    void dropLegacyJobWorkerIndex();
 }
@@ -1,77 +1,59 @@
 package com.example.demo.repository;
 import com.example.demo.entity.ChatMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.transaction.annotation.Transactional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
-    @Modifying
-    @Transactional
-    @Query("""
-        UPDATE ChatMessage c
-        SET c.read = true
-        WHERE c.senderId = :senderId 
-        AND c.receiverId = :receiverId
-    """)
-    void markAsRead(
-        @Param("senderId") Long senderId,
-        @Param("receiverId") Long receiverId
-    );
+    // 🔹 Whole conversation, oldest first (range scan on conversation_key, created_at)
+    List<ChatMessage> findByConversationKeyOrderByTimestampAscIdAsc(String conversationKey);
 
-    List<ChatMessage> findBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampAsc(
-        Long sender1, Long receiver1,
-        Long sender2, Long receiver2
-    );
-    
-    @Query("""
-        SELECT DISTINCT 
-            CASE 
-                WHEN c.senderId = :userId THEN c.receiverId
-                ELSE c.senderId
-            END
-        FROM ChatMessage c
-        WHERE c.senderId = :userId OR c.receiverId = :userId
-    """)
-    List<Long> findContactIds(@Param("userId") Long userId);
+    // 🔹 Newest messages older than beforeId (range scan on conversation_key, id)
+    List<ChatMessage> findByConversationKeyAndIdLessThanOrderByIdDesc(
+        String conversationKey, Long beforeId, Limit limit);
 
-    List<ChatMessage> findByReceiverIdAndReadFalse(Long receiverId);
+    // 🔹 Oldest messages newer than afterId
+    List<ChatMessage> findByConversationKeyAndIdGreaterThanOrderByIdAsc(
+        String conversationKey, Long afterId, Limit limit);
 
-    @Query("""
-        SELECT COUNT(c)
-        FROM ChatMessage c
-        WHERE c.receiverId = :userId AND c.read = false
-    """)
-    Long countUnread(@Param("userId") Long userId);
+    // 🔹 Delta sync: a user's sent and received messages above a high-water mark
+    List<ChatMessage> findBySenderIdAndIdGreaterThanOrderByIdAsc(
+        Long senderId, Long sinceId, Limit limit);
 
-    @Query("""
-        SELECT c.senderId, COUNT(c)
-        FROM ChatMessage c
-        WHERE c.receiverId = :userId AND c.read = false
-        GROUP BY c.senderId
-    """)
-    List<Object[]> countUnreadBySender(@Param("userId") Long userId);
+    List<ChatMessage> findByReceiverIdAndIdGreaterThanOrderByIdAsc(
+        Long receiverId, Long sinceId, Limit limit);
 
+    // 🔹 Fill conversation_key on a chunk of legacy rows; returns rows updated
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chat_messages"))
+    @Modifying
+    @Query(value = """
+        UPDATE chat_messages
+        SET conversation_key = CONCAT(LEAST(sender_id, receiver_id), ':',
+                                      GREATEST(sender_id, receiver_id))
+        WHERE id IN (
+            SELECT id FROM chat_messages
+            WHERE conversation_key IS NULL
+            AND sender_id IS NOT NULL AND receiver_id IS NOT NULL
+            LIMIT :chunk)
+    """, nativeQuery = true)
+    int backfillConversationKeys(@Param("chunk") int chunk);
+
+    // 🔹 Messages to a user above their read watermark, per conversation
     @Query("""
-        SELECT c FROM ChatMessage c
-        WHERE (c.senderId = :userId AND c.receiverId = :contactId)
-        OR (c.senderId = :contactId AND c.receiverId = :userId)
-        ORDER BY c.timestamp DESC
+        SELECT m FROM ChatMessage m, Conversation c
+        WHERE c.ownerId = :userId
+        AND c.unreadCount > 0
+        AND m.conversationKey = c.conversationKey
+        AND m.senderId = c.contactId
+        AND m.id > COALESCE(c.lastReadMessageId, 0)
+        ORDER BY m.id
     """)
-    List<ChatMessage> findLastMessageRaw(
-        @Param("userId") Long userId,
-        @Param("contactId") Long contactId
-    );
-
-    // 🔹 Count unread messages from a specific sender
-    long countBySenderIdAndReceiverIdAndReadFalse(
-        Long senderId,
-        Long receiverId
-    );
-
-    // 🔹 Count all unread messages for a user
-    long countByReceiverIdAndReadFalse(Long receiverId);
-}
\ No newline at end of file
+    List<ChatMessage> findUnread(@Param("userId") Long userId);
+}
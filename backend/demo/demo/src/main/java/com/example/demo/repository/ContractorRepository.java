@@ -1,11 +1,16 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Contractor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface ContractorRepository extends JpaRepository<Contractor, Long> {
+    // Query cache: the id comes from the cache until the contractors table is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Contractor> findByUserId(Long userId);
     String findContractorNameById(Long contractorId);
     Optional<Contractor> findByLicenseNumber(String licenseNumber);
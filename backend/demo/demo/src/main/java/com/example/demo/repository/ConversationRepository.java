@@ -0,0 +1,171 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ChatContactDTO;
+import com.example.demo.entity.Conversation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    // 🔹 Contact list for a user, newest conversation first (one indexed query)
+    @Query("""
+        SELECT new com.example.demo.dto.ChatContactDTO(
+            u, c.lastMessage, c.lastMessageTime, c.unreadCount)
+        FROM Conversation c
+        JOIN User u ON u.id = c.contactId
+        WHERE c.ownerId = :userId
+        ORDER BY c.lastMessageTime DESC NULLS LAST
+    """)
+    List<ChatContactDTO> findContacts(@Param("userId") Long userId);
+
+    // 🔹 Unread count and latest message id per contact, used to seed the in-memory counters
+    @Query("""
+        SELECT c.contactId, c.unreadCount, c.lastMessageId
+        FROM Conversation c
+        WHERE c.ownerId = :userId
+    """)
+    List<Object[]> findUnreadCounts(@Param("userId") Long userId);
+
+    // 🔹 Unread count, read watermark and latest message id on the owner's side of one conversation
+    @Query("""
+        SELECT c.unreadCount, c.lastReadMessageId, c.lastMessageId
+        FROM Conversation c
+        WHERE c.ownerId = :ownerId AND c.contactId = :contactId
+    """)
+    List<Object[]> findReadState(
+        @Param("ownerId") Long ownerId,
+        @Param("contactId") Long contactId
+    );
+
+    // 🔹 Record a message on the owner's side of a conversation
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conversations"))
+    @Modifying
+    @Query(value = """
+        INSERT INTO conversations
+            (owner_id, contact_id, conversation_key, last_message, last_message_id,
+             last_message_time, unread_count, last_read_message_id)
+        VALUES (:ownerId, :contactId, :conversationKey, :content, :messageId,
+                :sentAt, :unread, 0)
+        ON CONFLICT (owner_id, contact_id) DO UPDATE SET
+            last_message = CASE
+                WHEN EXCLUDED.last_message_id >= COALESCE(conversations.last_message_id, 0)
+                THEN EXCLUDED.last_message ELSE conversations.last_message END,
+            last_message_time = CASE
+                WHEN EXCLUDED.last_message_id >= COALESCE(conversations.last_message_id, 0)
+                THEN EXCLUDED.last_message_time ELSE conversations.last_message_time END,
+            last_message_id = GREATEST(EXCLUDED.last_message_id,
+                COALESCE(conversations.last_message_id, 0)),
+            unread_count = conversations.unread_count + CASE
+                WHEN EXCLUDED.last_message_id > COALESCE(conversations.last_read_message_id, 0)
+                THEN EXCLUDED.unread_count ELSE 0 END
+    """, nativeQuery = true)
+    void upsertLastMessage(
+        @Param("ownerId") Long ownerId,
+        @Param("contactId") Long contactId,
+        @Param("conversationKey") String conversationKey,
+        @Param("content") String content,
+        @Param("messageId") Long messageId,
+        @Param("sentAt") LocalDateTime sentAt,
+        @Param("unread") long unread
+    );
+
+    // 🔹 Owner read the chat up to upToId (or its latest message when null):
+    //    move the watermark forward and recount only what lies above it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conversations"))
+    @Modifying
+    @Query(value = """
+        UPDATE conversations
+        SET last_read_message_id = GREATEST(
+                COALESCE(last_read_message_id, 0),
+                COALESCE(CAST(:upToId AS bigint), last_message_id, 0)),
+            unread_count = (
+                SELECT COUNT(*) FROM chat_messages m
+                WHERE m.conversation_key = conversations.conversation_key
+                AND m.sender_id = conversations.contact_id
+                AND m.id > GREATEST(
+                    COALESCE(conversations.last_read_message_id, 0),
+                    COALESCE(CAST(:upToId AS bigint), conversations.last_message_id, 0)))
+        WHERE owner_id = :ownerId
+        AND contact_id = :contactId
+    """, nativeQuery = true)
+    void markReadUpTo(
+        @Param("ownerId") Long ownerId,
+        @Param("contactId") Long contactId,
+        @Param("upToId") Long upToId
+    );
+
+    // 🔹 Both directions of every conversation between userId and contactIds
+    @Query("""
+        SELECT c FROM Conversation c
+        WHERE (c.ownerId = :userId AND c.contactId IN :contactIds)
+        OR (c.contactId = :userId AND c.ownerId IN :contactIds)
+    """)
+    List<Conversation> findBetween(
+        @Param("userId") Long userId,
+        @Param("contactIds") Collection<Long> contactIds
+    );
+
+    // 🔹 Build summaries for history that predates the conversations table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conversations"))
+    @Modifying
+    @Query(value = """
+        WITH pairs AS (
+            SELECT sender_id AS owner_id, receiver_id AS contact_id,
+                   id, false AS incoming, is_read
+            FROM chat_messages
+            WHERE sender_id IS NOT NULL AND receiver_id IS NOT NULL
+            UNION ALL
+            SELECT receiver_id, sender_id, id, true, is_read
+            FROM chat_messages
+            WHERE sender_id IS NOT NULL AND receiver_id IS NOT NULL
+        ), agg AS (
+            SELECT owner_id, contact_id, MAX(id) AS last_id,
+                   COUNT(*) FILTER (WHERE incoming AND NOT is_read) AS unread
+            FROM pairs
+            GROUP BY owner_id, contact_id
+        )
+        INSERT INTO conversations
+            (owner_id, contact_id, conversation_key, last_message, last_message_id,
+             last_message_time, unread_count)
+        SELECT a.owner_id, a.contact_id, m.conversation_key,
+               m.content, m.id, m.created_at, a.unread
+        FROM agg a
+        JOIN chat_messages m ON m.id = a.last_id
+        ON CONFLICT (owner_id, contact_id) DO NOTHING
+    """, nativeQuery = true)
+    int backfillFromMessages();
+
+    // 🔹 Fill conversation_key on rows created before it existed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conversations"))
+    @Modifying
+    @Query(value = """
+        UPDATE conversations
+        SET conversation_key = CONCAT(LEAST(owner_id, contact_id), ':',
+                                      GREATEST(owner_id, contact_id))
+        WHERE conversation_key IS NULL
+    """, nativeQuery = true)
+    int backfillConversationKeys();
+
+    // 🔹 Derive watermarks for rows created before they existed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conversations"))
+    @Modifying
+    @Query(value = """
+        UPDATE conversations
+        SET last_read_message_id = COALESCE((
+            SELECT MAX(m.id) FROM chat_messages m
+            WHERE m.conversation_key = conversations.conversation_key
+            AND m.sender_id = conversations.contact_id
+            AND m.is_read), 0)
+        WHERE last_read_message_id IS NULL
+    """, nativeQuery = true)
+    int backfillReadWatermarks();
+}
@@ -0,0 +1,118 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse-fieldset list queries: selects only the requested columns as a
+ * tuple and returns each row as nested maps shaped like the entity JSON.
+ * No entities are loaded, so there is nothing to dirty-check and nothing
+ * lazy for the serializer to trip over.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Rows of {@code fieldSet.getRoot()} matching every filter (dotted path =
+     * value), with the given fields, in the given order.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> select(FieldSet fieldSet, List<String> fields,
+            Map<String, ?> filters, Sort sort) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(fieldSet.getRoot());
+        Map<String, From<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(path(root, joins, field));
+        }
+
+        List<Predicate> where = new ArrayList<>();
+        filters.forEach((field, value) -> where.add(cb.equal(path(root, joins, field), value)));
+
+        List<Order> orderBy = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<?> path = path(root, joins, order.getProperty());
+            orderBy.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+
+        query.multiselect(selections)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(orderBy);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                put(row, fields.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Left-joins every association on the way to the last attribute, reusing
+     * joins between fields. A trailing {@code .id} reads the foreign key
+     * instead of joining the target table.
+     */
+    private static Path<?> path(Root<?> root, Map<String, From<?, ?>> joins, String field) {
+        String[] segments = field.split("\\.");
+        int n = segments.length;
+        boolean foreignKey = n > 1 && "id".equals(segments[n - 1]);
+        int joined = foreignKey ? n - 2 : n - 1;
+
+        From<?, ?> from = root;
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < joined; i++) {
+            if (i > 0) {
+                key.append('.');
+            }
+            key.append(segments[i]);
+            From<?, ?> next = joins.get(key.toString());
+            if (next == null) {
+                next = from.join(segments[i], JoinType.LEFT);
+                joins.put(key.toString(), next);
+            }
+            from = next;
+        }
+        return foreignKey
+                ? from.get(segments[n - 2]).get("id")
+                : from.get(segments[n - 1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> row, String field, Object value) {
+        String[] segments = field.split("\\.");
+        Map<String, Object> node = row;
+        for (int i = 0; i < segments.length - 1; i++) {
+            node = (Map<String, Object>) node.computeIfAbsent(segments[i], k -> new LinkedHashMap<>());
+        }
+        node.put(segments[segments.length - 1], value);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Application;
+import com.example.demo.entity.Job;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields a list endpoint may return through {@code ?fields=}, as dotted
+ * entity paths in the same shape as the entity JSON (e.g.
+ * {@code worker.user.name}). Only single-valued attributes are selectable;
+ * collections and @JsonIgnore'd columns are left out.
+ */
+public final class FieldSet {
+
+    private static final List<String> USER = List.of(
+            "id", "name", "email", "phone", "role", "location", "bio", "profilePhoto",
+            "latitude", "longitude");
+
+    private static final List<String> CONTRACTOR = List.of(
+            "id", "companyName", "companyType", "yearsInBusiness", "licenseNumber",
+            "insuranceProvider", "website");
+
+    private static final List<String> WORKER = concat(
+            List.of("id", "experience", "hourlyRate", "availability"),
+            prefixed("user", USER));
+
+    private static final List<String> JOB_BASIC = List.of(
+            "id", "title", "location", "latitude", "longitude", "payRate", "duration",
+            "description", "skillsRequired", "status", "requiredWorkers", "createdAt");
+
+    public static final FieldSet USERS = new FieldSet(User.class, USER);
+
+    public static final FieldSet WORKERS = new FieldSet(Worker.class, WORKER);
+
+    public static final FieldSet JOBS = new FieldSet(Job.class, concat(
+            JOB_BASIC,
+            prefixed("contractor", CONTRACTOR),
+            prefixed("contractor.user", USER)));
+
+    // Application JSON omits job.contractor (@JsonIgnoreProperties)
+    public static final FieldSet APPLICATIONS = new FieldSet(Application.class, concat(
+            List.of("id", "status", "coverNote", "proposedRate", "availableFrom",
+                    "appliedAt", "acceptedAt"),
+            prefixed("job", JOB_BASIC),
+            prefixed("worker", WORKER)));
+
+    // Project JSON omits contractor.user (@JsonIgnoreProperties)
+    public static final FieldSet PROJECTS = new FieldSet(Project.class, concat(
+            List.of("id", "name", "description", "location", "latitude", "longitude",
+                    "status", "workers", "progress", "budget", "spent", "deadline", "skills",
+                    "createdAt", "updatedAt"),
+            prefixed("contractor", CONTRACTOR)));
+
+    private final Class<?> root;
+    private final List<String> fields;
+
+    private FieldSet(Class<?> root, List<String> fields) {
+        this.root = root;
+        this.fields = fields;
+    }
+
+    public Class<?> getRoot() {
+        return root;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * The requested fields in request order. A prefix such as
+     * {@code worker.user} selects every field below it.
+     *
+     * @throws IllegalArgumentException for an empty list or an unknown field
+     */
+    public List<String> parse(String requested) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String token : requested.split(",")) {
+            String field = token.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (fields.contains(field)) {
+                selected.add(field);
+                continue;
+            }
+            boolean matched = false;
+            for (String candidate : fields) {
+                if (candidate.startsWith(field + ".")) {
+                    selected.add(candidate);
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                throw new IllegalArgumentException("Unknown field '" + field
+                        + "'; allowed: " + String.join(",", fields));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private static List<String> prefixed(String prefix, List<String> fields) {
+        return fields.stream().map(f -> prefix + "." + f).toList();
+    }
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... lists) {
+        return Arrays.stream(lists).flatMap(List::stream).toList();
+    }
+}
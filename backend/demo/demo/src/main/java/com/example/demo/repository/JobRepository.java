@@ -1,12 +1,21 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.JobListingDTO;
 import com.example.demo.entity.Job;
 import com.example.demo.entity.Contractor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JobSearchRepository {
 
     // Find all jobs by contractor
     List<Job> findByContractorId(Long contractorId);
@@ -23,4 +32,70 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     // Search by skills
     List<Job> findBySkillsRequiredContainingIgnoreCase(String skill);
 
-}
\ No newline at end of file
+    // Trigram operator classes for the substring (LIKE '%x%') filters
+    @Modifying
+    @Query(value = "CREATE EXTENSION IF NOT EXISTS pg_trgm", nativeQuery = true)
+    void createTrigramExtension();
+
+    // Job-board location / skill filters match lower(column) LIKE '%x%'
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jobs"))
+    @Modifying
+    @Query(value = """
+        CREATE INDEX IF NOT EXISTS idx_jobs_location_trgm
+        ON jobs USING gin (lower(location) gin_trgm_ops)
+    """, nativeQuery = true)
+    void createLocationSearchIndex();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jobs"))
+    @Modifying
+    @Query(value = """
+        CREATE INDEX IF NOT EXISTS idx_jobs_skills_required_trgm
+        ON jobs USING gin (lower(skills_required) gin_trgm_ops)
+    """, nativeQuery = true)
+    void createSkillsSearchIndex();
+
+    // Jobs whose skill bitset has not been computed yet, in id order
+    List<Job> findBySkillMaskIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Listing rows for a set of ids (order is up to the caller)
+    @Query("""
+        SELECT new com.example.demo.dto.JobListingDTO(
+            j.id, j.title, j.location, j.payRate, j.duration, j.skillsRequired,
+            j.status, j.requiredWorkers, j.createdAt, c.id, c.companyName)
+        FROM Job j
+        LEFT JOIN j.contractor c
+        WHERE j.id IN :ids
+    """)
+    List<JobListingDTO> findListingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Jobs with a location but no coordinates yet, in id order
+    List<Job> findByLatitudeIsNullAndLocationIsNotNullAndIdGreaterThanOrderByIdAsc(
+            Long afterId, Limit limit);
+
+    // Coordinates of open jobs, for the spatial index
+    @Query("""
+        SELECT j.id, j.latitude, j.longitude
+        FROM Job j
+        WHERE UPPER(j.status) = 'OPEN' AND j.latitude IS NOT NULL AND j.longitude IS NOT NULL
+    """)
+    List<Object[]> findOpenJobPositions();
+
+    // Feed features of open jobs above afterId, in id order
+    @Query("""
+        SELECT j.id, j.skillMask, j.payRate, j.location
+        FROM Job j
+        WHERE UPPER(j.status) = 'OPEN' AND j.id > :afterId
+        ORDER BY j.id
+    """)
+    List<Object[]> findOpenJobFeatures(@Param("afterId") Long afterId, Limit limit);
+
+    // Text columns of open jobs above afterId, in id order, for the search index rebuild
+    @Query("""
+        SELECT j.id, j.title, j.description, j.skillsRequired
+        FROM Job j
+        WHERE UPPER(j.status) = 'OPEN' AND j.id > :afterId
+        ORDER BY j.id
+    """)
+    List<Object[]> findOpenJobText(@Param("afterId") Long afterId, Limit limit);
+
+}
@@ -0,0 +1,14 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.dto.JobSearchFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JobSearchRepository {
+
+    // 🔹 Filtered job listings ordered by (createdAt, id) DESC, strictly after the cursor
+    List<JobListingDTO> search(JobSearchFilter filter,
+                               LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+}
@@ -0,0 +1,93 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.dto.JobSearchFilter;
+import com.example.demo.entity.Contractor;
+import com.example.demo.entity.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria implementation of the job-board search. Only the filters that
+ * are set become predicates, and rows are projected straight into
+ * JobListingDTO so no Job, Contractor or User entities are loaded.
+ * Location and skill are substring matches on lower(column), served by
+ * pg_trgm GIN indexes where the extension is available (JobSearchService).
+ */
+public class JobSearchRepositoryImpl implements JobSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JobListingDTO> search(JobSearchFilter filter,
+            LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JobListingDTO> query = cb.createQuery(JobListingDTO.class);
+        Root<Job> job = query.from(Job.class);
+        Join<Job, Contractor> contractor = job.join("contractor", JoinType.LEFT);
+
+        List<Predicate> where = new ArrayList<>();
+        if (StringUtils.hasText(filter.getStatus())) {
+            where.add(cb.equal(job.get("status"), filter.getStatus().trim().toUpperCase(Locale.ROOT)));
+        }
+        if (StringUtils.hasText(filter.getLocation())) {
+            where.add(cb.like(cb.lower(job.get("location")), contains(filter.getLocation()), '\\'));
+        }
+        if (StringUtils.hasText(filter.getSkill())) {
+            where.add(cb.like(cb.lower(job.get("skillsRequired")), contains(filter.getSkill()), '\\'));
+        }
+        if (filter.getMinPay() != null) {
+            where.add(cb.greaterThanOrEqualTo(job.get("payRate"), filter.getMinPay()));
+        }
+        if (filter.getMaxPay() != null) {
+            where.add(cb.lessThanOrEqualTo(job.get("payRate"), filter.getMaxPay()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            where.add(cb.greaterThan(job.get("createdAt"), filter.getCreatedAfter()));
+        }
+
+        // Keyset: rows strictly after (cursorCreatedAt, cursorId) in DESC order
+        if (cursorCreatedAt != null && cursorId != null) {
+            where.add(cb.or(
+                    cb.lessThan(job.get("createdAt"), cursorCreatedAt),
+                    cb.and(
+                            cb.equal(job.get("createdAt"), cursorCreatedAt),
+                            cb.lessThan(job.get("id"), cursorId))));
+        }
+        where.add(cb.isNotNull(job.get("createdAt")));
+
+        query.select(cb.construct(JobListingDTO.class,
+                        job.get("id"), job.get("title"), job.get("location"),
+                        job.get("payRate"), job.get("duration"), job.get("skillsRequired"),
+                        job.get("status"), job.get("requiredWorkers"), job.get("createdAt"),
+                        contractor.get("id"), contractor.get("companyName")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(job.get("createdAt")), cb.desc(job.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String contains(String text) {
+        String escaped = text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // 🔹 Oldest undispatched rows, locked so another node's relay skips them
+    @Query(value = """
+        SELECT * FROM notification_outbox
+        WHERE dispatched_at IS NULL
+        ORDER BY id
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<NotificationOutbox> lockPending(@Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutbox n
+        SET n.dispatchedAt = :now
+        WHERE n.id IN :ids
+    """)
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        DELETE FROM NotificationOutbox n
+        WHERE n.dispatchedAt < :cutoff
+    """)
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,6 +1,7 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -12,4 +13,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByStatus(String status);
 
     List<Project> findByContractorIdAndStatus(Long contractorId, String status);
+
+    // Projects whose skill bitset has not been computed yet, in id order
+    List<Project> findBySkillMaskIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Projects with a location but no coordinates yet, in id order
+    List<Project> findByLatitudeIsNullAndLocationIsNotNullAndIdGreaterThanOrderByIdAsc(
+            Long afterId, Limit limit);
 }
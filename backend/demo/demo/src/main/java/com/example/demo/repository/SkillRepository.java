@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Skill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SkillRepository extends JpaRepository<Skill, Integer> {
+
+    Optional<Skill> findByName(String name);
+
+    // 🔹 Declared length of skills.name (schema update never widens a column)
+    @Query(value = """
+        SELECT character_maximum_length FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'skills' AND column_name = 'name'
+    """, nativeQuery = true)
+    Integer findNameColumnLength();
+
+    @Modifying
+    @Query(value = """
+        ALTER TABLE skills
+            ALTER COLUMN name TYPE varchar(500),
+            ALTER COLUMN label TYPE varchar(500)
+    """, nativeQuery = true)
+    void widenNameColumns();
+
+    // 🔹 Insert a skill unless another node or thread already did
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "skills"))
+    @Modifying
+    @Query(value = """
+        INSERT INTO skills (name, label)
+        VALUES (:name, :label)
+        ON CONFLICT (name) DO NOTHING
+    """, nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name, @Param("label") String label);
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    // 🔹 User by email through the natural-id cache; the first by id if legacy rows share an email
+    Optional<User> findFirstByEmail(String email);
+}
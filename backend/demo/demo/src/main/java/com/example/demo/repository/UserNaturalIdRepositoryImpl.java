@@ -0,0 +1,43 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Email lookups resolve through Hibernate's natural-id cache (email -> id)
+ * and then the users entity region, so a warm profile request reads no
+ * rows. Both caches are kept current by Hibernate on every User save.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findFirstByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        try {
+            return entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(User.class)
+                    .loadOptional(email);
+        } catch (HibernateException e) {
+            // Duplicate emails from before the unique constraint; the natural-id
+            // loader reports them as a plain HibernateException ("more than one row")
+            return entityManager.createQuery(
+                            "SELECT u FROM User u WHERE u.email = :email ORDER BY u.id", User.class)
+                    .setParameter("email", email)
+                    .setMaxResults(1)
+                    .getResultStream()
+                    .findFirst();
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional;
+import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findFirstByEmail(String email);
+// findFirstByEmail is implemented by the natural-id fragment
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+
+    // Users with a location but no coordinates yet, in id order
+    List<User> findByLatitudeIsNullAndLocationIsNotNullAndIdGreaterThanOrderByIdAsc(
+            Long afterId, Limit limit);
+
+    // Users whose profilePhoto still starts with the given prefix (inline data URIs), in id order
+    List<User> findByProfilePhotoStartingWithAndIdGreaterThanOrderByIdAsc(
+            String prefix, Long afterId, Limit limit);
 }
\ No newline at end of file
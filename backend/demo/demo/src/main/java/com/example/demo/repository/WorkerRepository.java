@@ -1,10 +1,127 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.WorkerSummaryDTO;
 import com.example.demo.entity.Worker;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface WorkerRepository extends JpaRepository<Worker, Long> {
+public interface WorkerRepository extends JpaRepository<Worker, Long>, WorkerSearchRepository {
+    // Query cache: the id comes from the cache until the workers table is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Worker> findByUserId(Long userId);
+
+    // User joined in the same select; skills and certifications are batch-loaded on access
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Worker> findAll();
+
+    // List view: one select, no collections
+    @Query(value = """
+        SELECT new com.example.demo.dto.WorkerSummaryDTO(
+            w.id, u.id, u.name, u.location, u.profilePhoto,
+            w.experience, w.hourlyRate, w.availability)
+        FROM Worker w
+        JOIN w.user u
+        ORDER BY w.id
+    """, countQuery = "SELECT COUNT(w) FROM Worker w")
+    Page<WorkerSummaryDTO> findSummaries(Pageable pageable);
+
+    // Summary rows for ids picked from the in-memory skill index
+    @Query("""
+        SELECT new com.example.demo.dto.WorkerSummaryDTO(
+            w.id, u.id, u.name, u.location, u.profilePhoto,
+            w.experience, w.hourlyRate, w.availability)
+        FROM Worker w
+        JOIN w.user u
+        WHERE w.id IN :ids
+        ORDER BY w.id
+    """)
+    List<WorkerSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Case-insensitive skill / certification lookups; schema update cannot declare expression indexes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "worker_skills"))
+    @Modifying
+    @Query(value = """
+        CREATE INDEX IF NOT EXISTS idx_worker_skills_lower
+        ON worker_skills (lower(skill), worker_id)
+    """, nativeQuery = true)
+    void createSkillSearchIndex();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "worker_certifications"))
+    @Modifying
+    @Query(value = """
+        CREATE INDEX IF NOT EXISTS idx_worker_certifications_lower
+        ON worker_certifications (lower(certification), worker_id)
+    """, nativeQuery = true)
+    void createCertificationSearchIndex();
+
+    // Trigram operator classes for the substring (LIKE '%x%') filters
+    @Modifying
+    @Query(value = "CREATE EXTENSION IF NOT EXISTS pg_trgm", nativeQuery = true)
+    void createTrigramExtension();
+
+    // Worker-search location filter matches lower(users.location) LIKE '%x%'
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Modifying
+    @Query(value = """
+        CREATE INDEX IF NOT EXISTS idx_users_location_trgm
+        ON users USING gin (lower(location) gin_trgm_ops)
+    """, nativeQuery = true)
+    void createLocationSearchIndex();
+
+    // Matching features for every worker, without loading the skill collections
+    @Query("""
+        SELECT w.id, u.id, w.skillMask, w.hourlyRate, w.experience,
+               w.availability, u.location
+        FROM Worker w
+        JOIN w.user u
+    """)
+    List<Object[]> findMatchingFeatures();
+
+    // Position (from the user's geocoded location) and availability of every worker
+    @Query("""
+        SELECT w.id, u.id, u.latitude, u.longitude, w.availability
+        FROM Worker w
+        JOIN w.user u
+    """)
+    List<Object[]> findWorkerPositions();
+
+    // Display fields for ranked candidates
+    @Query("""
+        SELECT w.id, u.name, u.location
+        FROM Worker w
+        JOIN w.user u
+        WHERE w.id IN :ids
+    """)
+    List<Object[]> findDisplayFieldsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Workers with a skill or certification stored before values were tidied
+    // on write (padded or with repeated whitespace), in id order
+    @Query(value = """
+        SELECT w.id FROM workers w
+        WHERE w.id > :afterId
+        AND (EXISTS (SELECT 1 FROM worker_skills s WHERE s.worker_id = w.id
+                     AND s.skill <> btrim(regexp_replace(s.skill, '\\s+', ' ', 'g')))
+          OR EXISTS (SELECT 1 FROM worker_certifications c WHERE c.worker_id = w.id
+                     AND c.certification <> btrim(regexp_replace(c.certification, '\\s+', ' ', 'g'))))
+        ORDER BY w.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Long> findIdsWithUntidySkills(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Workers whose skill bitset has not been computed yet, in id order
+    List<Worker> findBySkillMaskIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.WorkerSearchFilter;
+import com.example.demo.dto.WorkerSummaryDTO;
+
+import java.util.List;
+
+public interface WorkerSearchRepository {
+
+    // 🔹 Filtered worker rows in the given order, strictly after the (cursorValue, cursorId) cursor
+    List<WorkerSummaryDTO> search(WorkerSearchFilter filter, WorkerSearchFilter.Sort sort,
+                                  Double cursorValue, Long cursorId, int limit);
+}
@@ -0,0 +1,167 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.WorkerSearchFilter;
+import com.example.demo.dto.WorkerSummaryDTO;
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+import com.example.demo.services.SkillDictionary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria implementation of the worker search. Skill and certification
+ * filters are correlated EXISTS probes on the collection tables (served by
+ * the lower(...) expression indexes), and rows are projected straight into
+ * WorkerSummaryDTO so no collections are loaded. The location filter is a
+ * substring match served by a pg_trgm index where available.
+ */
+public class WorkerSearchRepositoryImpl implements WorkerSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<WorkerSummaryDTO> search(WorkerSearchFilter filter, WorkerSearchFilter.Sort sort,
+            Double cursorValue, Long cursorId, int limit) {
+
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<WorkerSummaryDTO> query = cb.createQuery(WorkerSummaryDTO.class);
+        Root<Worker> worker = query.from(Worker.class);
+        Join<Worker, User> user = worker.join("user");
+
+        List<Predicate> where = new ArrayList<>();
+        List<String> skills = normalized(filter.getSkills());
+        if (!skills.isEmpty()) {
+            if (filter.isMatchAllSkills()) {
+                for (String skill : skills) {
+                    where.add(cb.exists(elementMatch(cb, query, worker, "skills", List.of(skill))));
+                }
+            } else {
+                where.add(cb.exists(elementMatch(cb, query, worker, "skills", skills)));
+            }
+        }
+        if (StringUtils.hasText(filter.getCertification())) {
+            where.add(cb.exists(elementMatch(cb, query, worker, "certifications",
+                    List.of(SkillDictionary.normalize(filter.getCertification())))));
+        }
+        if (filter.getMinRate() != null) {
+            where.add(cb.greaterThanOrEqualTo(worker.get("hourlyRate"), filter.getMinRate()));
+        }
+        if (filter.getMaxRate() != null) {
+            where.add(cb.lessThanOrEqualTo(worker.get("hourlyRate"), filter.getMaxRate()));
+        }
+        if (filter.getMinExperience() != null) {
+            where.add(cb.greaterThanOrEqualTo(worker.get("experience"), filter.getMinExperience()));
+        }
+        if (StringUtils.hasText(filter.getAvailability())) {
+            where.add(cb.equal(cb.lower(cb.trim(worker.get("availability"))),
+                    normalize(filter.getAvailability())));
+        }
+        if (StringUtils.hasText(filter.getLocation())) {
+            where.add(cb.like(cb.lower(user.get("location")), contains(filter.getLocation()), '\\'));
+        }
+
+        Path<Long> id = worker.get("id");
+        List<Order> orderBy = new ArrayList<>();
+        if (sort == WorkerSearchFilter.Sort.ID) {
+            if (cursorId != null) {
+                where.add(cb.greaterThan(id, cursorId));
+            }
+            orderBy.add(cb.asc(id));
+        } else {
+            boolean ascending = sort == WorkerSearchFilter.Sort.RATE_ASC;
+            if (sort == WorkerSearchFilter.Sort.EXPERIENCE_DESC) {
+                Path<Integer> experience = worker.get("experience");
+                Integer cursor = cursorValue != null ? (int) Math.round(cursorValue) : null;
+                if (cursorId != null) {
+                    where.add(after(cb, experience, cursor, id, cursorId, ascending));
+                }
+                orderBy.add(cb.desc(experience, false));
+            } else {
+                Path<Double> rate = worker.get("hourlyRate");
+                if (cursorId != null) {
+                    where.add(after(cb, rate, cursorValue, id, cursorId, ascending));
+                }
+                orderBy.add(ascending ? cb.asc(rate, false) : cb.desc(rate, false));
+            }
+            orderBy.add(ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        query.select(cb.construct(WorkerSummaryDTO.class,
+                        id, user.get("id"), user.get("name"), user.get("location"),
+                        user.get("profilePhoto"), worker.get("experience"),
+                        worker.get("hourlyRate"), worker.get("availability")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(orderBy);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // EXISTS (SELECT 1 FROM <collection table> e WHERE e.worker_id = w.id AND lower(e.value) IN (...))
+    private static Subquery<Integer> elementMatch(HibernateCriteriaBuilder cb, CriteriaQuery<?> query,
+            Root<Worker> worker, String collection, List<String> values) {
+        Subquery<Integer> sub = query.subquery(Integer.class);
+        Root<Worker> correlated = sub.correlate(worker);
+        Join<Worker, String> element = correlated.join(collection);
+        Expression<String> lowered = cb.lower(element);
+        return sub.select(cb.literal(1))
+                .where(values.size() == 1 ? cb.equal(lowered, values.get(0)) : lowered.in(values));
+    }
+
+    /**
+     * Keyset predicate for a nullable sort column with nulls last: rows
+     * strictly after (cursorValue, cursorId). A null cursorValue means the
+     * previous page ended inside the null tail.
+     */
+    private static <T extends Comparable<? super T>> Predicate after(HibernateCriteriaBuilder cb,
+            Expression<T> value, T cursorValue, Path<Long> id, Long cursorId, boolean ascending) {
+        Predicate idAfter = ascending ? cb.greaterThan(id, cursorId) : cb.lessThan(id, cursorId);
+        if (cursorValue == null) {
+            return cb.and(cb.isNull(value), idAfter);
+        }
+        return cb.or(
+                ascending ? cb.greaterThan(value, cursorValue) : cb.lessThan(value, cursorValue),
+                cb.and(cb.equal(value, cursorValue), idAfter),
+                cb.isNull(value));
+    }
+
+    private static List<String> normalized(List<String> values) {
+        List<String> result = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                if (StringUtils.hasText(value)) {
+                    result.add(SkillDictionary.normalize(value));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String contains(String text) {
+        String escaped = text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,15 +1,16 @@
 package com.example.demo.restController;
 
 import com.example.demo.entity.ChatMessage;
-import com.example.demo.entity.User;
-import com.example.demo.repository.ChatMessageRepository;
-import com.example.demo.repository.UserRepository;
 import com.example.demo.dto.ChatContactDTO;
+import com.example.demo.dto.ChatHistoryPageDTO;
+import com.example.demo.dto.ChatSyncDTO;
+import com.example.demo.services.ChatService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -17,10 +18,7 @@ import java.util.List;
 public class ChatRestController {
 
     @Autowired
-    private ChatMessageRepository repository;
-
-    @Autowired
-    private UserRepository userRepository;
+    private ChatService chatService;
 
     // ✅ 1. Get full chat between two users
     @GetMapping
@@ -28,81 +26,62 @@ public class ChatRestController {
             @RequestParam Long senderId,
             @RequestParam Long receiverId) {
 
-        return repository
-                .findBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampAsc(
-                        senderId, receiverId,
-                        receiverId, senderId
-                );
+        return chatService.getChat(senderId, receiverId);
+    }
+
+    // ✅ 1b. Get one page of chat history (newest first)
+    @GetMapping("/history")
+    public ChatHistoryPageDTO getChatHistory(
+            @RequestParam Long senderId,
+            @RequestParam Long receiverId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+
+        return chatService.getHistory(senderId, receiverId, before, after, limit);
     }
 
     // ✅ 2. Get contact list (users you have chatted with)
     @GetMapping("/{userId}/contacts")
     public List<ChatContactDTO> getContacts(@PathVariable Long userId) {
-
-        List<Long> contactIds = repository.findContactIds(userId);
-
-        return contactIds.stream()
-            .map(contactId -> {
-
-                User user = userRepository.findById(contactId).orElse(null);
-
-                if (user == null) {
-                    return null;
-                }
-
-                // 🔹 Get last message (already sorted DESC in query)
-                List<ChatMessage> messages =
-                        repository.findLastMessageRaw(userId, contactId);
-
-                ChatMessage lastMsg =
-                        messages.isEmpty() ? null : messages.get(0);
-
-                String lastMessage =
-                        lastMsg != null ? lastMsg.getContent() : "";
-
-                var lastTime =
-                        lastMsg != null ? lastMsg.getTimestamp() : null;
-
-                long unread =
-                        repository.countBySenderIdAndReceiverIdAndReadFalse(
-                                contactId, userId
-                        );
-
-                return new ChatContactDTO(
-                        user,
-                        lastMessage,
-                        lastTime,
-                        unread
-                );
-            })
-            .filter(dto -> dto != null)
-            .sorted((a, b) -> {
-                if (a.getLastMessageTime() == null) return 1;
-                if (b.getLastMessageTime() == null) return -1;
-                return b.getLastMessageTime()
-                        .compareTo(a.getLastMessageTime());
-            })
-            .toList();
+        return chatService.getContacts(userId);
     }
 
     // ✅ 3. Get unread messages for a user
     @GetMapping("/{userId}/unread")
     public List<ChatMessage> getUnreadMessages(@PathVariable Long userId) {
-        return repository.findByReceiverIdAndReadFalse(userId);
+        return chatService.getUnreadMessages(userId);
     }
 
     // ✅ 4. Get unread message count
     @GetMapping("/{userId}/unread-count")
     public long getUnreadCount(@PathVariable Long userId) {
-        return repository.countByReceiverIdAndReadFalse(userId);
+        return chatService.getUnreadCount(userId);
     }
 
-    // ✅ 5. Mark messages as read (when opening chat)
+    // ✅ 4b. Get unread message count per contact
+    @GetMapping("/{userId}/unread-counts")
+    public Map<Long, Long> getUnreadCountsByContact(@PathVariable Long userId) {
+        return chatService.getUnreadCountsByContact(userId);
+    }
+
+    // ✅ 4c. Delta sync after reconnect: messages with id > since, oldest first
+    @GetMapping("/{userId}/sync")
+    public ChatSyncDTO sync(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit) {
+
+        return chatService.sync(userId, since, limit);
+    }
+
+    // ✅ 5. Mark messages as read (when opening chat), optionally only up to a message id
     @PutMapping("/mark-read")
     public void markMessagesAsRead(
             @RequestParam Long senderId,
-            @RequestParam Long receiverId) {
+            @RequestParam Long receiverId,
+            @RequestParam(required = false) Long upToId) {
 
-        repository.markAsRead(senderId, receiverId);
+        chatService.markAsRead(senderId, receiverId, upToId);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.demo.restController;
+import com.example.demo.dto.ChatResumeDTO;
+import com.example.demo.dto.ChatSyncDTO;
 import com.example.demo.entity.ChatMessage;
-import com.example.demo.repository.ChatMessageRepository;
+import com.example.demo.services.ChatPresenceService;
+import com.example.demo.services.ChatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -11,7 +14,10 @@ import org.springframework.stereotype.Controller;
 public class ChatWebSocketController {
 
     @Autowired
-    private ChatMessageRepository repository;
+    private ChatService chatService;
+
+    @Autowired
+    private ChatPresenceService presenceService;
 
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
@@ -19,11 +25,22 @@ public class ChatWebSocketController {
     @MessageMapping("/chat.send")
     public void sendMessage(@Payload ChatMessage message) {
 
-        ChatMessage saved = repository.save(message);
+        ChatMessage saved = chatService.send(message);
+
+        // Skips the broker when the receiver has no live subscription
+        presenceService.deliver(saved);
+    }
+
+    // Client reconnected: replay what it missed to its sync topic
+    @MessageMapping("/chat.resume")
+    public void resume(@Payload ChatResumeDTO resume) {
+
+        ChatSyncDTO page = chatService.sync(
+                resume.getUserId(), resume.getSince(), resume.getLimit());
 
         messagingTemplate.convertAndSend(
-                "/topic/messages/" + message.getReceiverId(),
-                saved
+                "/topic/sync/" + resume.getUserId(),
+                page
         );
     }
 }
\ No newline at end of file
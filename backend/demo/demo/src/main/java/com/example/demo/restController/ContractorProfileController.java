@@ -2,6 +2,7 @@ package com.example.demo.restController;
 
 import com.example.demo.dto.ContractorProfileUpdateDTO;
 import com.example.demo.services.ContractorService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,10 +17,15 @@ public class ContractorProfileController {
     }
 
     @PatchMapping("/profile/{email}")
-    public String updateProfile(@PathVariable String email,
-                                @RequestBody ContractorProfileUpdateDTO dto) {
-        contractorService.updateProfile(email, dto);
-        return "Contractor profile updated successfully";
+    public ResponseEntity<String> updateProfile(@PathVariable String email,
+                                                @RequestBody ContractorProfileUpdateDTO dto) {
+        try {
+            contractorService.updateProfile(email, dto);
+        } catch (IllegalArgumentException e) {
+            // 🔹 Unreadable or oversized profile photo
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok("Contractor profile updated successfully");
     }
 
     @GetMapping("/profile/email/{email}")
@@ -1,18 +1,41 @@
 package com.example.demo.restController;
 
+import com.example.demo.dto.ApplicationInboxDTO;
 import com.example.demo.dto.ApplicationRequestDTO;
+import com.example.demo.dto.BulkStatusUpdateDTO;
+import com.example.demo.dto.CandidateDTO;
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.dto.JobPageDTO;
+import com.example.demo.dto.JobSearchFilter;
+import com.example.demo.dto.NearbyJobDTO;
 import com.example.demo.entity.Application;
 import com.example.demo.entity.Job;
-import com.example.demo.entity.Worker;
 import com.example.demo.repository.ApplicationRepository;
+import com.example.demo.repository.FieldProjectionRepository;
+import com.example.demo.repository.FieldSet;
 import com.example.demo.repository.JobRepository;
 import com.example.demo.repository.WorkerRepository;
+import com.example.demo.services.ApplicationService;
+import com.example.demo.services.GeoSearchService;
+import com.example.demo.services.JobSearchIndex;
+import com.example.demo.services.JobSearchService;
+import com.example.demo.services.JobService;
+import com.example.demo.services.SkillDictionary;
+import com.example.demo.services.WorkerFeedService;
+import com.example.demo.services.WorkerMatchingEngine;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.ArrayList;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -22,27 +45,138 @@ public class JobController {
     private final JobRepository jobRepository;
     private final ApplicationRepository applicationRepository;
     private final WorkerRepository workerRepository;
+    private final JobSearchService jobSearchService;
+    private final JobSearchIndex jobSearchIndex;
+    private final SkillDictionary skillDictionary;
+    private final WorkerMatchingEngine matchingEngine;
+    private final ApplicationService applicationService;
+    private final JobService jobService;
+    private final WorkerFeedService workerFeedService;
+    private final GeoSearchService geoSearchService;
+    private final FieldProjectionRepository fieldProjectionRepository;
 
     public JobController(JobRepository jobRepository,
             ApplicationRepository applicationRepository,
-            WorkerRepository workerRepository) {
+            WorkerRepository workerRepository,
+            JobSearchService jobSearchService,
+            JobSearchIndex jobSearchIndex,
+            SkillDictionary skillDictionary,
+            WorkerMatchingEngine matchingEngine,
+            ApplicationService applicationService,
+            JobService jobService,
+            WorkerFeedService workerFeedService,
+            GeoSearchService geoSearchService,
+            FieldProjectionRepository fieldProjectionRepository) {
         this.jobRepository = jobRepository;
         this.applicationRepository = applicationRepository;
         this.workerRepository = workerRepository;
+        this.jobSearchService = jobSearchService;
+        this.jobSearchIndex = jobSearchIndex;
+        this.skillDictionary = skillDictionary;
+        this.matchingEngine = matchingEngine;
+        this.applicationService = applicationService;
+        this.jobService = jobService;
+        this.workerFeedService = workerFeedService;
+        this.geoSearchService = geoSearchService;
+        this.fieldProjectionRepository = fieldProjectionRepository;
     }
 
     // ── Create job ───────────────────────────────────────────────────────────
     @PostMapping
     public ResponseEntity<Job> createJob(@RequestBody Job job) {
+        job.setSkillMask(skillDictionary.toMask(job.getSkillsRequired()));
+        geoSearchService.locate(job);
         Job savedJob = jobRepository.save(job);
+        jobSearchIndex.update(savedJob);
+        workerFeedService.onJobSaved(savedJob);
+        geoSearchService.onJobSaved(savedJob);
         return ResponseEntity.ok(savedJob);
     }
 
     @GetMapping("/contractor/{contractorId}")
-    public ResponseEntity<List<Job>> getJobsByContractor(@PathVariable Long contractorId) {
+    public ResponseEntity<?> getJobsByContractor(
+            @PathVariable Long contractorId,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.JOBS, fields,
+                    Map.of("contractor.id", contractorId), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(jobRepository.findByContractorId(contractorId));
     }
 
+    // ── Paged job board search ───────────────────────────────────────────────
+    // Pass nextCreatedAt / nextId from the previous page as cursorCreatedAt / cursorId
+    @GetMapping("/search")
+    public ResponseEntity<JobPageDTO> searchJobs(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) Double minPay,
+            @RequestParam(required = false) Double maxPay,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer limit) {
+
+        JobSearchFilter filter = new JobSearchFilter(
+                status, location, skill, minPay, maxPay, createdAfter);
+        return ResponseEntity.ok(
+                jobSearchService.search(filter, cursorCreatedAt, cursorId, limit));
+    }
+
+    // ── Keyword search over title, skills and description of open jobs ──────
+    // mode=all requires every term, mode=any (default) ranks jobs matching any term
+    @GetMapping("/search/keywords")
+    public ResponseEntity<List<JobListingDTO>> searchJobsByKeywords(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "any") String mode,
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                jobSearchIndex.search(q, "all".equalsIgnoreCase(mode), limit));
+    }
+
+    // ── Open jobs near a point, nearest first ───────────────────────────────
+    // Pass lat/lon, or a place name in location (geocoded from the offline gazetteer)
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyJobs(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+
+        double[] point = lat != null && lon != null
+                ? new double[] { lat, lon }
+                : geoSearchService.geocode(location).orElse(null);
+        if (point == null) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "lat and lon, or a known location, is required"));
+        }
+        List<NearbyJobDTO> jobs = geoSearchService.nearbyJobs(point[0], point[1], radiusKm, limit);
+        return ResponseEntity.ok(jobs);
+    }
+
+    // ── Open jobs inside a map viewport ──────────────────────────────────────
+    // Sorted by distance from lat/lon when given, otherwise from the box centre
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyJobDTO>> getJobsWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Integer limit) {
+
+        double fromLat = lat != null ? lat : (minLat + maxLat) / 2;
+        double fromLon = lon != null ? lon : (minLon + maxLon) / 2;
+        return ResponseEntity.ok(geoSearchService.jobsWithin(
+                minLat, minLon, maxLat, maxLon, fromLat, fromLon, limit));
+    }
+
     // ── Get job by ID ────────────────────────────────────────────────────────
     @GetMapping("/{id}")
     public ResponseEntity<Job> getJobById(@PathVariable Long id) {
@@ -51,9 +185,35 @@ public class JobController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // ── Rank workers for a job ───────────────────────────────────────────────
+    // Weights are relative and optional; parallel defaults to on for large pools
+    @GetMapping("/{id}/candidates")
+    public ResponseEntity<List<CandidateDTO>> getCandidates(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Double skillWeight,
+            @RequestParam(required = false) Double rateWeight,
+            @RequestParam(required = false) Double experienceWeight,
+            @RequestParam(required = false) Double availabilityWeight,
+            @RequestParam(required = false) Double locationWeight,
+            @RequestParam(required = false) Boolean parallel) {
+
+        WorkerMatchingEngine.Weights weights = matchingEngine.defaultWeights().override(
+                skillWeight, rateWeight, experienceWeight, availabilityWeight, locationWeight);
+
+        return jobRepository.findById(id)
+                .map(job -> ResponseEntity.ok(matchingEngine.rank(job, weights, limit, parallel)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // ── Get all jobs ─────────────────────────────────────────────────────────
+    // List endpoints take ?fields=id,title,contractor.companyName to select only those columns
     @GetMapping
-    public ResponseEntity<List<Job>> getAllJobs() {
+    public ResponseEntity<?> getAllJobs(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.JOBS, fields,
+                    Map.of(), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(jobRepository.findAll());
     }
 
@@ -63,60 +223,105 @@ public class JobController {
             @PathVariable Long jobId,
             @RequestBody ApplicationRequestDTO dto) {
 
-        Job job = jobRepository.findById(jobId).orElse(null);
-        if (job == null) {
+        if (!jobRepository.existsById(jobId)) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", "Job not found"));
         }
 
-        Worker worker = workerRepository.findById(dto.getWorkerId()).orElse(null);
-        if (worker == null) {
+        if (dto.getWorkerId() == null || !workerRepository.existsById(dto.getWorkerId())) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", "Worker not found"));
         }
 
-        // Prevent duplicate applications
-        List<Application> existing = applicationRepository.findByJobId(jobId);
-        boolean alreadyApplied = existing.stream()
-                .anyMatch(a -> a.getWorker().getId().equals(dto.getWorkerId()));
-        if (alreadyApplied) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("message", "You have already applied for this job"));
+        // Prevent duplicate applications (index probe; the unique constraint covers races)
+        if (applicationRepository.existsByJobIdAndWorkerId(jobId, dto.getWorkerId())) {
+            return alreadyApplied();
         }
 
         Application application = new Application();
-        application.setJob(job);
-        application.setWorker(worker);
+        application.setJob(jobRepository.getReferenceById(jobId));
+        application.setWorker(workerRepository.getReferenceById(dto.getWorkerId()));
         application.setCoverNote(dto.getCoverNote());
         application.setProposedRate(dto.getProposedRate());
         application.setAvailableFrom(dto.getAvailableFrom());
         application.setStatus("PENDING");
 
-        applicationRepository.save(application);
+        try {
+            applicationRepository.saveAndFlush(application);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateApplication(e)) {
+                return alreadyApplied();
+            }
+            throw e;
+        }
 
         return ResponseEntity.ok(Map.of("message", "Application submitted successfully"));
     }
 
+    private static boolean isDuplicateApplication(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException cve
+                && cve.getConstraintName() != null
+                && cve.getConstraintName().toLowerCase(Locale.ROOT).startsWith("uk_application_job_worker");
+    }
+
+    private static ResponseEntity<Map<String, String>> alreadyApplied() {
+        return ResponseEntity.badRequest()
+                .body(Map.of("message", "You have already applied for this job"));
+    }
+
     // ── Get all applications for a job (for contractor) ──────────────────────
     @GetMapping("/{jobId}/applications")
-    public ResponseEntity<List<Application>> getApplicationsForJob(@PathVariable Long jobId) {
+    public ResponseEntity<?> getApplicationsForJob(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.APPLICATIONS, fields,
+                    Map.of("job.id", jobId), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(applicationRepository.findByJobId(jobId));
     }
 
     // ── Get all applications by a worker ─────────────────────────────────────
     @GetMapping("/applications/worker/{workerId}")
-    public ResponseEntity<List<Application>> getApplicationsByWorker(@PathVariable Long workerId) {
+    public ResponseEntity<?> getApplicationsByWorker(
+            @PathVariable Long workerId,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.APPLICATIONS, fields,
+                    Map.of("worker.id", workerId), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(applicationRepository.findByWorkerId(workerId));
     }
 
     @GetMapping("/applications/contractor/{contractorId}")
-    public ResponseEntity<List<Application>> getApplicationsByContractor(@PathVariable Long contractorId) {
-        List<Job> jobs = jobRepository.findByContractorId(contractorId);
-        List<Application> applications = new ArrayList<>();
-        for (Job job : jobs) {
-            applications.addAll(applicationRepository.findByJobId(job.getId()));
+    public ResponseEntity<?> getApplicationsByContractor(
+            @PathVariable Long contractorId,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.APPLICATIONS, fields,
+                    Map.of("job.contractor.id", contractorId),
+                    Sort.by(Sort.Direction.DESC, "appliedAt", "id"));
         }
-        return ResponseEntity.ok(applications);
+        return ResponseEntity.ok(
+                applicationRepository.findByContractorIdWithJobAndWorker(contractorId));
+    }
+
+    // ── Contractor inbox: one paged projection query ─────────────────────────
+    @GetMapping("/applications/contractor/{contractorId}/inbox")
+    public ResponseEntity<Page<ApplicationInboxDTO>> getContractorInbox(
+            @PathVariable Long contractorId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page),
+                Math.max(1, Math.min(size, 100)));
+        String statusFilter = status != null && !status.isBlank()
+                ? status.trim().toUpperCase(Locale.ROOT)
+                : null;
+        return ResponseEntity.ok(applicationRepository.findInbox(
+                contractorId, statusFilter, jobId, pageRequest));
     }
 
     // ── Update application status (Hire/Reject) ──────────────────────────────
@@ -130,19 +335,38 @@ public class JobController {
             return ResponseEntity.badRequest().body(Map.of("message", "Status is required"));
         }
 
-        return applicationRepository.findById(applicationId).map(app -> {
-            app.setStatus(status);
-            if ("ACCEPTED".equalsIgnoreCase(status) && app.getAcceptedAt() == null) {
-                app.setAcceptedAt(java.time.LocalDateTime.now());
-            }
-            applicationRepository.save(app);
+        // The worker is notified through the outbox (/topic/notifications/{userId})
+        return applicationService.updateStatus(applicationId, status)
+                .map(app -> ResponseEntity.ok(Map.of(
+                        "message", "Application status updated to " + status,
+                        "application", app)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-            // TODO: Here we will later trigger a dynamic notification to the worker
+    // ── Bulk hire / reject ───────────────────────────────────────────────────
+    @PutMapping("/applications/status")
+    public ResponseEntity<?> updateApplicationStatuses(@RequestBody BulkStatusUpdateDTO body) {
 
-            return ResponseEntity.ok(Map.of(
-                    "message", "Application status updated to " + status,
-                    "application", app));
-        }).orElse(ResponseEntity.notFound().build());
+        String status = body.getStatus();
+        if (status == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Status is required"));
+        }
+        List<Long> ids = body.getApplicationIds();
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "applicationIds is required"));
+        }
+        if (ids.size() > ApplicationService.MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("message",
+                    "At most " + ApplicationService.MAX_BULK_SIZE + " applications per request"));
+        }
+
+        Map<Long, String> results = applicationService.updateStatuses(ids, status);
+        long updated = results.values().stream().filter("UPDATED"::equals).count();
+        return ResponseEntity.ok(Map.of(
+                "status", status,
+                "updated", updated,
+                "results", results));
     }
 
     // ── Update job status ────────────────────────────────────────────────────
@@ -156,11 +380,11 @@ public class JobController {
             return ResponseEntity.badRequest().body(Map.of("message", "Status is required"));
         }
 
-        return jobRepository.findById(jobId).map(job -> {
-            job.setStatus(status);
-            jobRepository.save(job);
-
-            // TODO: Trigger dynamic notification to worker/contractor upon job completion
+        // Contractor and hired workers are notified through the outbox
+        return jobService.updateStatus(jobId, status).map(job -> {
+            jobSearchIndex.update(job);
+            workerFeedService.onJobSaved(job);
+            geoSearchService.onJobSaved(job);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Job status updated to " + status,
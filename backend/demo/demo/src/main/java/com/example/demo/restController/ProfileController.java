@@ -3,6 +3,7 @@ package com.example.demo.restController;
 import com.example.demo.dto.WorkerProfileUpdateDTO;
 import com.example.demo.services.WorkerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -17,10 +18,15 @@ public class ProfileController {
     }
     
     @PatchMapping("/profile/{email}")
-    public String updateProfile(@PathVariable String email,
-                                @RequestBody WorkerProfileUpdateDTO dto) {
-        workerService.updateProfile(email, dto);
-        return "Profile updated successfully";
+    public ResponseEntity<String> updateProfile(@PathVariable String email,
+                                                @RequestBody WorkerProfileUpdateDTO dto) {
+        try {
+            workerService.updateProfile(email, dto);
+        } catch (IllegalArgumentException e) {
+            // 🔹 Unreadable or oversized profile photo
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok("Profile updated successfully");
     }
 
     @GetMapping("/profile/email/{email}")
@@ -3,7 +3,11 @@ package com.example.demo.restController;
 import com.example.demo.entity.Contractor;
 import com.example.demo.entity.Project;
 import com.example.demo.repository.ContractorRepository;
+import com.example.demo.repository.FieldProjectionRepository;
+import com.example.demo.repository.FieldSet;
 import com.example.demo.repository.ProjectRepository;
+import com.example.demo.services.GeoSearchService;
+import com.example.demo.services.SkillDictionary;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,11 +21,20 @@ public class ProjectController {
 
     private final ProjectRepository projectRepository;
     private final ContractorRepository contractorRepository;
+    private final SkillDictionary skillDictionary;
+    private final GeoSearchService geoSearchService;
+    private final FieldProjectionRepository fieldProjectionRepository;
 
     public ProjectController(ProjectRepository projectRepository,
-                             ContractorRepository contractorRepository) {
+                             ContractorRepository contractorRepository,
+                             SkillDictionary skillDictionary,
+                             GeoSearchService geoSearchService,
+                             FieldProjectionRepository fieldProjectionRepository) {
         this.projectRepository = projectRepository;
         this.contractorRepository = contractorRepository;
+        this.skillDictionary = skillDictionary;
+        this.geoSearchService = geoSearchService;
+        this.fieldProjectionRepository = fieldProjectionRepository;
     }
 
     @PostMapping
@@ -36,11 +49,18 @@ public class ProjectController {
             }
             project.setContractor(contractor);
         }
+        project.setSkillMask(skillDictionary.toMask(project.getSkills()));
+        geoSearchService.locate(project);
         return ResponseEntity.ok(projectRepository.save(project));
     }
 
+    // ?fields=id,name,status,contractor.companyName selects only those columns
     @GetMapping
-    public ResponseEntity<List<Project>> getAllProjects() {
+    public ResponseEntity<?> getAllProjects(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.PROJECTS, fields,
+                    Map.of(), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(projectRepository.findAll());
     }
 
@@ -52,15 +72,25 @@ public class ProjectController {
     }
 
     @GetMapping("/contractor/{contractorId}")
-    public ResponseEntity<List<Project>> getProjectsByContractor(
-            @PathVariable Long contractorId) {
+    public ResponseEntity<?> getProjectsByContractor(
+            @PathVariable Long contractorId,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.PROJECTS, fields,
+                    Map.of("contractor.id", contractorId), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(projectRepository.findByContractorId(contractorId));
     }
 
     @GetMapping("/contractor/{contractorId}/status/{status}")
-    public ResponseEntity<List<Project>> getProjectsByContractorAndStatus(
+    public ResponseEntity<?> getProjectsByContractorAndStatus(
             @PathVariable Long contractorId,
-            @PathVariable String status) {
+            @PathVariable String status,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.PROJECTS, fields,
+                    Map.of("contractor.id", contractorId, "status", status), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(
                 projectRepository.findByContractorIdAndStatus(contractorId, status));
     }
@@ -79,6 +109,8 @@ public class ProjectController {
             existing.setSpent(updated.getSpent());
             existing.setDeadline(updated.getDeadline());
             existing.setSkills(updated.getSkills());
+            existing.setSkillMask(skillDictionary.toMask(updated.getSkills()));
+            geoSearchService.locate(existing);
             return ResponseEntity.ok(projectRepository.save(existing));
         }).orElse(ResponseEntity.notFound().build());
     }
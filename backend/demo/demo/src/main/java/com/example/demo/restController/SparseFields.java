@@ -0,0 +1,32 @@
+package com.example.demo.restController;
+
+import com.example.demo.repository.FieldProjectionRepository;
+import com.example.demo.repository.FieldSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ?fields=} handling shared by the list endpoints: validates the
+ * field list against the endpoint's FieldSet and answers with projected
+ * rows, or 400 for an unknown field.
+ */
+final class SparseFields {
+
+    static final Sort BY_ID = Sort.by("id");
+
+    private SparseFields() {}
+
+    static ResponseEntity<?> list(FieldProjectionRepository repository, FieldSet fieldSet,
+            String fields, Map<String, ?> filters, Sort sort) {
+        List<String> selected;
+        try {
+            selected = fieldSet.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        return ResponseEntity.ok(repository.select(fieldSet, selected, filters, sort));
+    }
+}
@@ -1,18 +1,40 @@
 package com.example.demo.restController;
 
 import com.example.demo.entity.User;
+import com.example.demo.repository.FieldProjectionRepository;
+import com.example.demo.repository.FieldSet;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.services.GeoSearchService;
+import com.example.demo.services.PhotoStore;
+import com.example.demo.services.WorkerFeedService;
+import com.example.demo.services.WorkerMatchingEngine;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.util.Map;
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
 public class UserController {
 
     private final UserRepository userRepository;
+    private final WorkerMatchingEngine matchingEngine;
+    private final WorkerFeedService workerFeedService;
+    private final GeoSearchService geoSearchService;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final PhotoStore photoStore;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository,
+                          WorkerMatchingEngine matchingEngine,
+                          WorkerFeedService workerFeedService,
+                          GeoSearchService geoSearchService,
+                          FieldProjectionRepository fieldProjectionRepository,
+                          PhotoStore photoStore) {
         this.userRepository = userRepository;
+        this.matchingEngine = matchingEngine;
+        this.workerFeedService = workerFeedService;
+        this.geoSearchService = geoSearchService;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.photoStore = photoStore;
     }
 
     // ✅ Get user by ID
@@ -27,16 +49,26 @@ public class UserController {
         return userRepository.findFirstByEmail(email).orElse(null);
     }
 
-    // ✅ Get all users
+    // ✅ Get all users (?fields=id,name,location for just those columns)
     @GetMapping
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.USERS, fields,
+                    Map.of(), SparseFields.BY_ID);
+        }
+        return ResponseEntity.ok(userRepository.findAll());
     }
 
-    // ✅ Create user
+    // ✅ Create user (an inline data-URI photo is moved to the photo store)
     @PostMapping
-    public User saveUser(@RequestBody User user) {
-        return userRepository.save(user);
+    public ResponseEntity<?> saveUser(@RequestBody User user) {
+        try {
+            user.setProfilePhoto(photoStore.toPhotoUrl(user.getProfilePhoto()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        geoSearchService.locate(user);
+        return ResponseEntity.ok(userRepository.save(user));
     }
 
     // ✅ Partial update
@@ -54,13 +86,24 @@ public class UserController {
             if (user.getRole() != null)
                 existingUser.setRole(user.getRole());
 
-            if(user.getLocation() != null)
+            boolean moved = user.getLocation() != null;
+            if(moved) {
                 existingUser.setLocation(user.getLocation());
+                geoSearchService.locate(existingUser);
+            }
 
             if(user.getBio() != null)
                 existingUser.setBio(user.getBio());
 
-            return userRepository.save(existingUser);
+            User saved = userRepository.save(existingUser);
+
+            // 🔹 In-memory indexes follow only once the save has committed
+            if (moved) {
+                geoSearchService.onUserMoved(saved);
+                matchingEngine.updateLocation(id, saved.getLocation());
+                workerFeedService.invalidateUser(id);
+            }
+            return saved;
         }
         return existingUser;
     }
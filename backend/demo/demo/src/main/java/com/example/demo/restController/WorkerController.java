@@ -1,11 +1,27 @@
 package com.example.demo.restController;
 
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.dto.NearbyWorkerDTO;
+import com.example.demo.dto.WorkerPageDTO;
+import com.example.demo.dto.WorkerSearchFilter;
+import com.example.demo.dto.WorkerSummaryDTO;
 import com.example.demo.entity.Worker;
+import com.example.demo.repository.FieldProjectionRepository;
+import com.example.demo.repository.FieldSet;
 import com.example.demo.repository.WorkerRepository;
+import com.example.demo.services.GeoSearchService;
+import com.example.demo.services.SkillDictionary;
+import com.example.demo.services.WorkerFeedService;
+import com.example.demo.services.WorkerMatchingEngine;
+import com.example.demo.services.WorkerSearchService;
+import com.example.demo.services.WorkerSkillIndex;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/workers")
@@ -13,9 +29,30 @@ import java.util.List;
 public class WorkerController {
 
     private final WorkerRepository workerRepository;
+    private final SkillDictionary skillDictionary;
+    private final WorkerMatchingEngine matchingEngine;
+    private final WorkerFeedService workerFeedService;
+    private final GeoSearchService geoSearchService;
+    private final WorkerSearchService workerSearchService;
+    private final WorkerSkillIndex workerSkillIndex;
+    private final FieldProjectionRepository fieldProjectionRepository;
 
-    public WorkerController(WorkerRepository workerRepository) {
+    public WorkerController(WorkerRepository workerRepository,
+            SkillDictionary skillDictionary,
+            WorkerMatchingEngine matchingEngine,
+            WorkerFeedService workerFeedService,
+            GeoSearchService geoSearchService,
+            WorkerSearchService workerSearchService,
+            WorkerSkillIndex workerSkillIndex,
+            FieldProjectionRepository fieldProjectionRepository) {
         this.workerRepository = workerRepository;
+        this.skillDictionary = skillDictionary;
+        this.matchingEngine = matchingEngine;
+        this.workerFeedService = workerFeedService;
+        this.geoSearchService = geoSearchService;
+        this.workerSearchService = workerSearchService;
+        this.workerSkillIndex = workerSkillIndex;
+        this.fieldProjectionRepository = fieldProjectionRepository;
     }
 
     // ===============================
@@ -38,20 +75,134 @@ public class WorkerController {
         return ResponseEntity.ok(worker);
     }
 
+    // ===============================
+    // 🔹 SEARCH WORKERS (keyset paged)
+    // ===============================
+    // skill may repeat; skillMode=all requires every skill. sort: id (default),
+    // rate_asc, rate_desc, experience_desc. Pass nextValue / nextId back as
+    // cursorValue / cursorId for the next page.
+    @GetMapping("/search")
+    public ResponseEntity<?> searchWorkers(
+            @RequestParam(name = "skill", required = false) List<String> skills,
+            @RequestParam(defaultValue = "any") String skillMode,
+            @RequestParam(required = false) String certification,
+            @RequestParam(required = false) Double minRate,
+            @RequestParam(required = false) Double maxRate,
+            @RequestParam(required = false) Integer minExperience,
+            @RequestParam(required = false) String availability,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Double cursorValue,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer limit) {
+
+        WorkerSearchFilter.Sort order;
+        try {
+            order = WorkerSearchFilter.Sort.parse(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message",
+                    "sort must be one of id, rate_asc, rate_desc, experience_desc"));
+        }
+
+        WorkerSearchFilter filter = new WorkerSearchFilter(
+                skills, "all".equalsIgnoreCase(skillMode), certification,
+                minRate, maxRate, minExperience, availability, location);
+        WorkerPageDTO page = workerSearchService.search(filter, order, cursorValue, cursorId, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // ===============================
+    // 🔹 RECOMMENDED JOBS FOR A WORKER
+    // ===============================
+    @GetMapping("/{id}/feed")
+    public ResponseEntity<Page<JobListingDTO>> getFeed(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return workerFeedService.getFeed(id, page, size)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ===============================
+    // 🔹 AVAILABLE WORKERS NEAR A POINT
+    // ===============================
+    // Pass lat/lon, or a place name in location; nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyWorkers(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+
+        double[] point = lat != null && lon != null
+                ? new double[] { lat, lon }
+                : geoSearchService.geocode(location).orElse(null);
+        if (point == null) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "lat and lon, or a known location, is required"));
+        }
+        List<NearbyWorkerDTO> workers =
+                geoSearchService.nearbyWorkers(point[0], point[1], radiusKm, limit);
+        return ResponseEntity.ok(workers);
+    }
+
+    // ===============================
+    // 🔹 AVAILABLE WORKERS INSIDE A MAP VIEWPORT
+    // ===============================
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyWorkerDTO>> getWorkersWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Integer limit) {
+
+        double fromLat = lat != null ? lat : (minLat + maxLat) / 2;
+        double fromLon = lon != null ? lon : (minLon + maxLon) / 2;
+        return ResponseEntity.ok(geoSearchService.workersWithin(
+                minLat, minLon, maxLat, maxLon, fromLat, fromLon, limit));
+    }
+
     // ===============================
     // 🔹 GET ALL WORKERS
     // ===============================
+    // ?fields=id,hourlyRate,user.name selects only those columns
     @GetMapping
-    public ResponseEntity<List<Worker>> getAllWorkers() {
+    public ResponseEntity<?> getAllWorkers(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.list(fieldProjectionRepository, FieldSet.WORKERS, fields,
+                    Map.of(), SparseFields.BY_ID);
+        }
         return ResponseEntity.ok(workerRepository.findAll());
     }
 
+    // ===============================
+    // 🔹 WORKER LIST (summary rows, paged)
+    // ===============================
+    @GetMapping("/summary")
+    public ResponseEntity<Page<WorkerSummaryDTO>> getWorkerSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, 200)));
+        return ResponseEntity.ok(workerRepository.findSummaries(pageRequest));
+    }
+
     // ===============================
     // 🔹 CREATE WORKER
     // ===============================
     @PostMapping
     public ResponseEntity<Worker> createWorker(@RequestBody Worker worker) {
+        worker.setSkills(SkillDictionary.tidy(worker.getSkills()));
+        worker.setCertifications(SkillDictionary.tidy(worker.getCertifications()));
+        worker.setSkillMask(skillDictionary.toMask(worker.getSkills()));
         Worker savedWorker = workerRepository.save(worker);
+        matchingEngine.update(savedWorker);
+        workerSkillIndex.update(savedWorker);
+        geoSearchService.onWorkerSaved(savedWorker);
         return ResponseEntity.ok(savedWorker);
     }
 
@@ -67,11 +218,13 @@ public class WorkerController {
                 .orElseThrow(() -> new RuntimeException("Worker not found"));
 
         // PATCH-safe updates
-        if (updatedWorker.getSkills() != null)
-            worker.setSkills(updatedWorker.getSkills());
+        if (updatedWorker.getSkills() != null) {
+            worker.setSkills(SkillDictionary.tidy(updatedWorker.getSkills()));
+            worker.setSkillMask(skillDictionary.toMask(updatedWorker.getSkills()));
+        }
 
         if (updatedWorker.getCertifications() != null)
-            worker.setCertifications(updatedWorker.getCertifications());
+            worker.setCertifications(SkillDictionary.tidy(updatedWorker.getCertifications()));
 
         if (updatedWorker.getExperience() != null)
             worker.setExperience(updatedWorker.getExperience());
@@ -83,6 +236,10 @@ public class WorkerController {
             worker.setAvailability(updatedWorker.getAvailability());
 
         Worker savedWorker = workerRepository.save(worker);
+        matchingEngine.update(savedWorker);
+        workerSkillIndex.update(savedWorker);
+        workerFeedService.invalidate(id);
+        geoSearchService.onWorkerSaved(savedWorker);
 
         return ResponseEntity.ok(savedWorker);
     }
@@ -98,6 +255,10 @@ public class WorkerController {
         }
 
         workerRepository.deleteById(id);
+        matchingEngine.remove(id);
+        workerSkillIndex.remove(id);
+        workerFeedService.invalidate(id);
+        geoSearchService.onWorkerRemoved(id);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.Application;
+import com.example.demo.entity.NotificationOutbox;
+import com.example.demo.repository.ApplicationRepository;
+import com.example.demo.repository.NotificationOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class ApplicationService {
+
+    public static final int MAX_BULK_SIZE = 1000;
+
+    private static final String LEGACY_JOB_WORKER_INDEX = "uk_application_job_worker_idx";
+    private static final int DUPLICATES_LOGGED = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationService.class);
+
+    private final ApplicationRepository applicationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final boolean removeDuplicates;
+
+    public ApplicationService(ApplicationRepository applicationRepository,
+            NotificationOutboxRepository outboxRepository,
+            @Value("${applications.remove-duplicates-on-startup:false}") boolean removeDuplicates) {
+        this.applicationRepository = applicationRepository;
+        this.outboxRepository = outboxRepository;
+        this.removeDuplicates = removeDuplicates;
+    }
+
+    // ── Hire / reject: status change and worker notification commit together ─
+    @Transactional
+    public Optional<Application> updateStatus(Long applicationId, String status) {
+        return applicationRepository.findById(applicationId).map(app -> {
+            app.setStatus(status);
+            if ("ACCEPTED".equalsIgnoreCase(status) && app.getAcceptedAt() == null) {
+                app.setAcceptedAt(LocalDateTime.now());
+            }
+
+            if (app.getWorker() != null && app.getWorker().getUser() != null) {
+                String title = app.getJob() != null ? app.getJob().getTitle() : null;
+                outboxRepository.save(new NotificationOutbox(
+                        app.getWorker().getUser().getId(),
+                        NotificationOutbox.APPLICATION_STATUS,
+                        app.getId(),
+                        status,
+                        "Your application" + (title != null ? " for \"" + title + "\"" : "")
+                                + " is now " + status));
+            }
+            return app;
+        });
+    }
+
+    // ── Bulk hire / reject: three statements regardless of how many ids ─────
+    /** Returns id -> UPDATED | NOT_FOUND, in request order. */
+    @Transactional
+    public Map<Long, String> updateStatuses(List<Long> applicationIds, String status) {
+        Set<Long> ids = new LinkedHashSet<>(applicationIds);
+        ids.remove(null);
+
+        Map<Long, String> results = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return results;
+        }
+
+        Set<Long> existing = new HashSet<>(applicationRepository.findExistingIds(ids));
+        if (!existing.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            applicationRepository.updateStatusIn(existing, status,
+                    "ACCEPTED".equalsIgnoreCase(status), now);
+            applicationRepository.insertStatusNotifications(existing, status, now);
+        }
+
+        for (Long id : ids) {
+            results.put(id, existing.contains(id) ? "UPDATED" : "NOT_FOUND");
+        }
+        return results;
+    }
+
+    // ── One application per (job, worker), enforced by the database ────────
+    // Runs only while no unique index covers the pair. Duplicates are just
+    // reported unless applications.remove-duplicates-on-startup is set, and
+    // the constraint waits until they are gone
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void enforceUniqueApplications() {
+        List<String> indexes = applicationRepository.findJobWorkerUniqueIndexes();
+        if (indexes.isEmpty()) {
+            List<Object[]> duplicates = applicationRepository.findDuplicateApplications(DUPLICATES_LOGGED);
+            if (!duplicates.isEmpty() && !removeDuplicates) {
+                for (Object[] d : duplicates) {
+                    log.warn("Duplicate applications: job {} worker {} ({} rows)", d[0], d[1], d[2]);
+                }
+                log.warn("Unique constraint on applications (job_id, worker_id) not added; "
+                        + "resolve the duplicates above or set applications.remove-duplicates-on-startup=true");
+                return;
+            }
+            if (!duplicates.isEmpty()) {
+                int removed = applicationRepository.deleteDuplicateApplications();
+                log.warn("Removed {} duplicate job applications", removed);
+            }
+            applicationRepository.addJobWorkerUniqueConstraint();
+            log.info("Added unique constraint on applications (job_id, worker_id)");
+        } else if (indexes.size() > 1 && indexes.contains(LEGACY_JOB_WORKER_INDEX)) {
+            applicationRepository.dropLegacyJobWorkerIndex();
+            log.info("Dropped redundant index {}", LEGACY_JOB_WORKER_INDEX);
+        }
+    }
+}
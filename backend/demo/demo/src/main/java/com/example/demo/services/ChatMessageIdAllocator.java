@@ -0,0 +1,76 @@
+package com.example.demo.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out chat message ids from a database sequence, one nextval() per
+ * message, so ids follow send order across every node and messages have
+ * their id before they are written.
+ */
+@Component
+public class ChatMessageIdAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatMessageIdAllocator.class);
+
+    private static final String SEQUENCE = "chat_message_id_seq";
+
+    // pg_advisory_xact_lock key, so only one starting node migrates the sequence
+    private static final long MIGRATION_LOCK = 0x43484154L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean migrated;
+
+    public ChatMessageIdAllocator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Own transaction, so the lock is not held until a caller's send commits
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long nextId() {
+        if (!migrated) {
+            migrate();
+        }
+        return jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE + "')", Long.class);
+    }
+
+    // ── One-off migration ───────────────────────────────────────────────────
+    // Creates the sequence past ids issued by the old identity column, or
+    // switches a pooled (INCREMENT BY 50) sequence to single steps. Neither
+    // path ever moves the sequence backwards.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void migrate() {
+        if (migrated) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK + ")");
+            Long increment = jdbcTemplate.query("""
+                SELECT increment_by FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = ?
+            """, rs -> rs.next() ? rs.getLong(1) : null, SEQUENCE);
+
+            if (increment == null) {
+                long start = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(id), 0) FROM chat_messages", Long.class) + 1;
+                jdbcTemplate.execute("CREATE SEQUENCE " + SEQUENCE + " START WITH " + start);
+                log.info("Created {} starting at {}", SEQUENCE, start);
+            } else if (increment != 1) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " INCREMENT BY 1");
+                log.info("Switched {} from blocks of {} to single ids", SEQUENCE, increment);
+            }
+        });
+        migrated = true;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.ChatMessage;
+import com.example.demo.repository.ChatMessageRepository;
+import com.example.demo.repository.ConversationRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a batch of messages and the matching conversation summaries in
+ * one transaction. Used directly in sync mode and by the write-behind
+ * buffer when it flushes.
+ */
+@Component
+public class ChatMessageWriter {
+
+    private final ChatMessageRepository messageRepository;
+    private final ConversationRepository conversationRepository;
+
+    public ChatMessageWriter(ChatMessageRepository messageRepository,
+            ConversationRepository conversationRepository) {
+        this.messageRepository = messageRepository;
+        this.conversationRepository = conversationRepository;
+    }
+
+    @Transactional
+    public void write(List<ChatMessage> messages) {
+        // Ids are pre-assigned, so Hibernate sends these as JDBC batches
+        messageRepository.saveAll(messages);
+
+        // Collapse the batch to one upsert per (owner, contact) row
+        Map<List<Long>, Summary> summaries = new LinkedHashMap<>();
+        for (ChatMessage m : messages) {
+            summaries.computeIfAbsent(List.of(m.getSenderId(), m.getReceiverId()),
+                    k -> new Summary()).add(m, 0);
+            summaries.computeIfAbsent(List.of(m.getReceiverId(), m.getSenderId()),
+                    k -> new Summary()).add(m, 1);
+        }
+
+        summaries.forEach((pair, s) -> conversationRepository.upsertLastMessage(
+                pair.get(0), pair.get(1), s.last.getConversationKey(),
+                s.last.getContent(), s.last.getId(), s.last.getTimestamp(),
+                s.unread));
+    }
+
+    private static class Summary {
+        ChatMessage last;
+        long unread;
+
+        void add(ChatMessage m, long unreadDelta) {
+            if (last == null || m.getId() > last.getId()) {
+                last = m;
+            }
+            unread += unreadDelta;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks which users have a live /topic/messages/{userId} subscription on
+ * this node and delivers chat messages only to them.
+ *
+ * Messages for offline users go to a small per-user pending queue (the
+ * database stays the source of truth) that is replayed as soon as the
+ * user's subscription has been registered with the broker. Queued
+ * messages expire after chat.presence.pending-ttl-seconds. With the
+ * broker relay, presence on one node says nothing about the others, so
+ * every message is dispatched and nothing is queued.
+ */
+@Service
+public class ChatPresenceService implements ExecutorChannelInterceptor {
+
+    private static final String MESSAGES_PREFIX = "/topic/messages/";
+
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final boolean presenceAware;
+    private final int maxPendingPerUser;
+    private final int maxPendingUsers;
+    private final long pendingTtlMs;
+
+    // sessionId -> (subscriptionId -> userId)
+    private final Map<String, Map<String, Long>> sessions = new ConcurrentHashMap<>();
+    // userId -> live subscriptions to that user's message topic
+    private final Map<Long, AtomicInteger> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Deque<Pending>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Counter skippedDispatches;
+    private final Counter expiredMessages;
+
+    public ChatPresenceService(ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${chat.broker.mode:simple}") String brokerMode,
+            @Value("${chat.presence.max-pending-per-user:100}") int maxPendingPerUser,
+            @Value("${chat.presence.max-pending-users:10000}") int maxPendingUsers,
+            @Value("${chat.presence.pending-ttl-seconds:600}") long pendingTtlSeconds) {
+        this.messagingTemplate = messagingTemplate;
+        this.presenceAware = !"relay".equalsIgnoreCase(brokerMode);
+        this.maxPendingPerUser = maxPendingPerUser;
+        this.maxPendingUsers = maxPendingUsers;
+        this.pendingTtlMs = pendingTtlSeconds * 1000;
+
+        Gauge.builder("chat.presence.sessions", sessions, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("chat.presence.online.users", subscribers, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("chat.presence.pending.messages", pendingCount, AtomicInteger::get)
+                .register(meterRegistry);
+        this.skippedDispatches = Counter.builder("chat.presence.dispatch.skipped")
+                .description("Chat messages not sent to the broker because the receiver was offline")
+                .register(meterRegistry);
+        this.expiredMessages = Counter.builder("chat.presence.pending.expired")
+                .description("Queued chat messages dropped because the receiver stayed offline past the TTL")
+                .register(meterRegistry);
+    }
+
+    // ── Delivery ─────────────────────────────────────────────────────────────
+
+    public void deliver(ChatMessage message) {
+        Long receiverId = message.getReceiverId();
+        if (!presenceAware || isOnline(receiverId)) {
+            send(receiverId, message);
+            return;
+        }
+
+        skippedDispatches.increment();
+        enqueue(receiverId, message);
+
+        // The user may have subscribed between the check and the enqueue
+        if (isOnline(receiverId)) {
+            drain(receiverId);
+        }
+    }
+
+    public boolean isOnline(Long userId) {
+        AtomicInteger count = subscribers.get(userId);
+        return count != null && count.get() > 0;
+    }
+
+    private void enqueue(Long userId, ChatMessage message) {
+        if (!pending.containsKey(userId) && pending.size() >= maxPendingUsers) {
+            return; // still stored; the client picks it up via history or sync
+        }
+        while (true) {
+            Deque<Pending> queue = pending.computeIfAbsent(userId, id -> new ArrayDeque<>());
+            synchronized (queue) {
+                if (pending.get(userId) != queue) {
+                    continue; // drained while we waited; use the new queue
+                }
+                if (queue.size() >= maxPendingPerUser) {
+                    queue.pollFirst();
+                    pendingCount.decrementAndGet();
+                }
+                queue.addLast(new Pending(message, System.currentTimeMillis()));
+                pendingCount.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void drain(Long userId) {
+        Deque<Pending> queue = pending.get(userId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            pending.remove(userId, queue);
+            for (Pending entry : queue) {
+                send(userId, entry.message());
+            }
+            pendingCount.addAndGet(-queue.size());
+            queue.clear();
+        }
+    }
+
+    private void send(Long userId, ChatMessage message) {
+        messagingTemplate.getObject().convertAndSend(MESSAGES_PREFIX + userId, message);
+    }
+
+    // 🔹 Drop queued messages past the TTL, and queues left empty, so users
+    //    who never come back do not hold memory or pending-user slots
+    @Scheduled(fixedDelayString = "${chat.presence.pending-sweep-interval-ms:30000}")
+    public void expirePending() {
+        long cutoff = System.currentTimeMillis() - pendingTtlMs;
+        for (Map.Entry<Long, Deque<Pending>> entry : pending.entrySet()) {
+            Deque<Pending> queue = entry.getValue();
+            synchronized (queue) {
+                int expired = 0;
+                while (!queue.isEmpty() && queue.peekFirst().queuedAt() < cutoff) {
+                    queue.pollFirst();
+                    expired++;
+                }
+                if (queue.isEmpty()) {
+                    pending.remove(entry.getKey(), queue);
+                }
+                if (expired > 0) {
+                    pendingCount.addAndGet(-expired);
+                    expiredMessages.increment(expired);
+                }
+            }
+        }
+    }
+
+    private record Pending(ChatMessage message, long queuedAt) {}
+
+    // ── STOMP session events ─────────────────────────────────────────────────
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        var headers = event.getMessage().getHeaders();
+        Long userId = userIdFrom(SimpMessageHeaderAccessor.getDestination(headers));
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        if (userId == null || sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, Long> subs = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        if (subs.put(subscriptionId, userId) == null) {
+            subscribers.compute(userId, (id, count) -> {
+                AtomicInteger c = count != null ? count : new AtomicInteger();
+                c.incrementAndGet();
+                return c;
+            });
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        var headers = event.getMessage().getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        Map<String, Long> subs = sessionId != null ? sessions.get(sessionId) : null;
+        if (subs != null && subscriptionId != null) {
+            Long userId = subs.remove(subscriptionId);
+            if (userId != null) {
+                release(userId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subs = sessions.remove(event.getSessionId());
+        if (subs != null) {
+            subs.values().forEach(this::release);
+        }
+    }
+
+    private void release(Long userId) {
+        subscribers.computeIfPresent(userId,
+                (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    // ── Replay pending messages once the broker knows the subscription ──────
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel,
+            MessageHandler handler, Exception ex) {
+        if (!(handler instanceof SimpleBrokerMessageHandler) || ex != null) {
+            return;
+        }
+        var headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.SUBSCRIBE) {
+            return;
+        }
+        Long userId = userIdFrom(SimpMessageHeaderAccessor.getDestination(headers));
+        if (userId != null) {
+            drain(userId);
+        }
+    }
+
+    private static Long userIdFrom(String destination) {
+        if (destination == null || !destination.startsWith(MESSAGES_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(MESSAGES_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
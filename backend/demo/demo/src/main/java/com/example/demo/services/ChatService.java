@@ -0,0 +1,248 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.ChatContactDTO;
+import com.example.demo.dto.ChatHistoryPageDTO;
+import com.example.demo.dto.ChatSyncDTO;
+import com.example.demo.entity.ChatMessage;
+import com.example.demo.entity.Conversation;
+import com.example.demo.repository.ChatMessageRepository;
+import com.example.demo.repository.ConversationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ChatService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final int BACKFILL_CHUNK = 5000;
+
+    private final ChatMessageRepository messageRepository;
+    private final ConversationRepository conversationRepository;
+    private final ChatMessageIdAllocator idAllocator;
+    private final ChatMessageWriter messageWriter;
+    private final ObjectProvider<ChatWriteBehindBuffer> writeBehind;
+    private final UnreadCounterService unreadCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChatService(ChatMessageRepository messageRepository,
+            ConversationRepository conversationRepository,
+            ChatMessageIdAllocator idAllocator,
+            ChatMessageWriter messageWriter,
+            ObjectProvider<ChatWriteBehindBuffer> writeBehind,
+            UnreadCounterService unreadCounters,
+            TransactionTemplate transactionTemplate) {
+        this.messageRepository = messageRepository;
+        this.conversationRepository = conversationRepository;
+        this.idAllocator = idAllocator;
+        this.messageWriter = messageWriter;
+        this.writeBehind = writeBehind;
+        this.unreadCounters = unreadCounters;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ── Send: assign id, then write now or hand to the write-behind queue ──
+    public ChatMessage send(ChatMessage message) {
+        message.setId(idAllocator.nextId());
+        message.setTimestamp(LocalDateTime.now());
+        message.setConversationKey(ChatMessage.conversationKey(
+                message.getSenderId(), message.getReceiverId()));
+        message.setRead(false);
+
+        ChatWriteBehindBuffer buffer = writeBehind.getIfAvailable();
+        if (buffer == null || !buffer.offer(message)) {
+            messageWriter.write(List.of(message));
+        }
+        unreadCounters.increment(message);
+        return message;
+    }
+
+    // ── Contacts list, served from the conversations table ──────────────────
+    @Transactional(readOnly = true)
+    public List<ChatContactDTO> getContacts(Long userId) {
+        return conversationRepository.findContacts(userId);
+    }
+
+    // ── Full history between two users, oldest first ────────────────────────
+    @Transactional(readOnly = true)
+    public List<ChatMessage> getChat(Long userId, Long contactId) {
+        List<ChatMessage> messages = messageRepository
+                .findByConversationKeyOrderByTimestampAscIdAsc(
+                        ChatMessage.conversationKey(userId, contactId));
+        applyReadState(messages, userId);
+        return messages;
+    }
+
+    // ── One page of history, newest first, keyed on message id ──────────────
+    @Transactional(readOnly = true)
+    public ChatHistoryPageDTO getHistory(Long userId, Long contactId,
+            Long before, Long after, Integer limit) {
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page exists
+        String key = ChatMessage.conversationKey(userId, contactId);
+        List<ChatMessage> rows;
+        if (after != null) {
+            rows = new ArrayList<>(messageRepository
+                    .findByConversationKeyAndIdGreaterThanOrderByIdAsc(
+                            key, after, Limit.of(size + 1)));
+        } else {
+            long cursor = before != null ? before : Long.MAX_VALUE;
+            rows = new ArrayList<>(messageRepository
+                    .findByConversationKeyAndIdLessThanOrderByIdDesc(
+                            key, cursor, Limit.of(size + 1)));
+        }
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = new ArrayList<>(rows.subList(0, size));
+        }
+        if (after != null) {
+            Collections.reverse(rows);
+        }
+
+        Long nextBefore = rows.isEmpty() ? before : rows.get(rows.size() - 1).getId();
+        Long nextAfter = rows.isEmpty() ? after : rows.get(0).getId();
+
+        applyReadState(rows, userId);
+        return new ChatHistoryPageDTO(rows, nextBefore, nextAfter, hasMore);
+    }
+
+    // ── Receiver opened the chat with sender: one watermark row update ──────
+    @Transactional
+    public void markAsRead(Long senderId, Long receiverId, Long upToId) {
+        // A partial mark-read (upToId below the latest message) leaves some unread
+        unreadCounters.recount(receiverId, senderId, () -> {
+            conversationRepository.markReadUpTo(receiverId, senderId, upToId);
+            return conversationRepository.findReadState(receiverId, senderId);
+        });
+    }
+
+    // ── Unread messages for a user, derived from the watermarks ─────────────
+    @Transactional(readOnly = true)
+    public List<ChatMessage> getUnreadMessages(Long userId) {
+        return messageRepository.findUnread(userId);
+    }
+
+    // ── Delta sync after a reconnect: everything for userId above since ─────
+    @Transactional(readOnly = true)
+    public ChatSyncDTO sync(Long userId, Long since, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long cursor = since != null ? since : 0L;
+
+        // Two index range scans, merged by id
+        List<ChatMessage> sent = messageRepository
+                .findBySenderIdAndIdGreaterThanOrderByIdAsc(userId, cursor, Limit.of(size + 1));
+        List<ChatMessage> received = messageRepository
+                .findByReceiverIdAndIdGreaterThanOrderByIdAsc(userId, cursor, Limit.of(size + 1));
+
+        List<ChatMessage> rows = new ArrayList<>(size + 1);
+        int i = 0, j = 0;
+        while (rows.size() <= size && (i < sent.size() || j < received.size())) {
+            ChatMessage next;
+            if (j >= received.size()
+                    || (i < sent.size() && sent.get(i).getId() < received.get(j).getId())) {
+                next = sent.get(i++);
+            } else {
+                next = received.get(j++);
+                // A message to yourself shows up in both lists
+                if (i < sent.size() && sent.get(i).getId().equals(next.getId())) {
+                    i++;
+                }
+            }
+            rows.add(next);
+        }
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = new ArrayList<>(rows.subList(0, size));
+        }
+        Long nextSince = rows.isEmpty() ? cursor : rows.get(rows.size() - 1).getId();
+
+        applyReadState(rows, userId);
+        return new ChatSyncDTO(rows, nextSince, hasMore);
+    }
+
+    // Fill in each message's read flag from its receiver's watermark
+    private void applyReadState(List<ChatMessage> messages, Long userId) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Set<Long> contactIds = new HashSet<>();
+        for (ChatMessage m : messages) {
+            contactIds.add(userId.equals(m.getSenderId()) ? m.getReceiverId() : m.getSenderId());
+        }
+
+        // owner -> contact -> what owner has read from contact
+        Map<List<Long>, Long> watermarks = new HashMap<>();
+        for (Conversation c : conversationRepository.findBetween(userId, contactIds)) {
+            watermarks.put(List.of(c.getOwnerId(), c.getContactId()), c.getLastReadMessageId());
+        }
+
+        for (ChatMessage m : messages) {
+            long watermark = watermarks.getOrDefault(
+                    List.of(m.getReceiverId(), m.getSenderId()), 0L);
+            m.setRead(m.getId() <= watermark);
+        }
+    }
+
+    // ── Badge counts, served from memory ─────────────────────────────────────
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.getTotal(userId);
+    }
+
+    public Map<Long, Long> getUnreadCountsByContact(Long userId) {
+        return unreadCounters.getByContact(userId);
+    }
+
+    // ── Backfill keys, summaries and watermarks for chats that predate them ─
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillConversations() {
+        int keyed = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status ->
+                    messageRepository.backfillConversationKeys(BACKFILL_CHUNK));
+            keyed += chunk;
+        } while (chunk > 0);
+        if (keyed > 0) {
+            log.info("Backfilled conversation keys on {} chat messages", keyed);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (conversationRepository.count() == 0) {
+                int created = conversationRepository.backfillFromMessages();
+                if (created > 0) {
+                    log.info("Backfilled {} conversation summaries from chat history", created);
+                }
+            }
+            conversationRepository.backfillConversationKeys();
+            int watermarks = conversationRepository.backfillReadWatermarks();
+            if (watermarks > 0) {
+                log.info("Derived read watermarks for {} conversations", watermarks);
+            }
+        });
+    }
+}
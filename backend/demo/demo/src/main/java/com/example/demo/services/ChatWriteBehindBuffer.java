@@ -0,0 +1,189 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded write-behind queue for chat messages (chat.persistence.mode=write-behind).
+ *
+ * Messages are flushed by a single writer thread when a batch fills up or
+ * the flush interval passes. A failed flush is retried with backoff and
+ * never dropped (only rows the database rejects outright are logged and
+ * skipped); when the queue is full {@link #offer} returns false and
+ * the caller writes synchronously instead. Shutdown drains the queue.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.persistence.mode", havingValue = "write-behind")
+public class ChatWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatWriteBehindBuffer.class);
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+
+    private final ChatMessageWriter writer;
+    private final UnreadCounterService unreadCounters;
+    private final BlockingQueue<ChatMessage> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+
+    private final Timer flushTimer;
+    private final Counter flushFailures;
+    private final Counter syncFallbacks;
+
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public ChatWriteBehindBuffer(ChatMessageWriter writer,
+            UnreadCounterService unreadCounters,
+            MeterRegistry meterRegistry,
+            @Value("${chat.write-behind.capacity:10000}") int capacity,
+            @Value("${chat.write-behind.batch-size:200}") int batchSize,
+            @Value("${chat.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${chat.write-behind.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${chat.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.writer = writer;
+        this.unreadCounters = unreadCounters;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        Gauge.builder("chat.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Chat messages waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.writebehind.flush")
+                .description("Time to write one batch of chat messages")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("chat.writebehind.flush.failures")
+                .register(meterRegistry);
+        this.syncFallbacks = Counter.builder("chat.writebehind.sync.fallbacks")
+                .description("Messages written synchronously because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = new Thread(this::run, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /** Queue a message for writing; false means the caller must write it itself */
+    public boolean offer(ChatMessage message) {
+        // Registered first: the flusher may write it before offer() returns
+        unreadCounters.awaitingWrite(message);
+        try {
+            if (running && queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unreadCounters.written(List.of(message));
+        syncFallbacks.increment();
+        return false;
+    }
+
+    private void run() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flushWithRetry(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Wait for the first message, then fill the batch until full or the interval ends
+    private void collect(List<ChatMessage> batch) throws InterruptedException {
+        ChatMessage first = running
+                ? queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS)
+                : queue.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.currentTimeMillis();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            ChatMessage next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flushWithRetry(List<ChatMessage> batch) {
+        long backoff = 100;
+        while (true) {
+            try {
+                flushTimer.record(() -> writer.write(batch));
+                unreadCounters.written(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Bad data will never succeed: isolate the offending message(s)
+                flushFailures.increment();
+                if (batch.size() == 1) {
+                    log.error("Dropping chat message {} that cannot be stored",
+                            batch.get(0).getId(), e);
+                    unreadCounters.written(batch);
+                    return;
+                }
+                for (ChatMessage m : batch) {
+                    flushWithRetry(List.of(m));
+                }
+                return;
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                log.warn("Chat write-behind flush of {} messages failed, retrying in {} ms",
+                        batch.size(), backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    // Keep retrying; the batch must not be lost
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    @PreDestroy
+    void drain() throws InterruptedException {
+        // The flusher polls with a timeout, so it notices this within one interval
+        running = false;
+        flusher.join(shutdownTimeoutMs);
+        if (!queue.isEmpty()) {
+            log.error("Chat write-behind stopped with {} unwritten messages", queue.size());
+        }
+    }
+}
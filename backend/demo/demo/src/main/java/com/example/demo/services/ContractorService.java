@@ -13,11 +13,14 @@ public class ContractorService {
 
     private final UserRepository userRepository;
     private final ContractorRepository contractorRepository;
+    private final PhotoStore photoStore;
 
     public ContractorService(UserRepository userRepository,
-                             ContractorRepository contractorRepository) {
+                             ContractorRepository contractorRepository,
+                             PhotoStore photoStore) {
         this.userRepository = userRepository;
         this.contractorRepository = contractorRepository;
+        this.photoStore = photoStore;
     }
 
     @Transactional
@@ -48,7 +51,7 @@ public class ContractorService {
             user.setBio(dto.getBio());
 
         if (dto.getProfilePhoto() != null)
-            user.setProfilePhoto(dto.getProfilePhoto());
+            user.setProfilePhoto(photoStore.toPhotoUrl(dto.getProfilePhoto()));
 
         // 🔹 Update Contractor fields
         if (dto.getCompanyName() != null)
@@ -0,0 +1,201 @@
+package com.example.demo.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-size lat/lon grid of points keyed by id. A query visits only the
+ * cells overlapping its bounding box and then filters by exact
+ * great-circle distance; a box covering more cells than there are points
+ * (a zoomed-out map) scans the points directly instead. Thread-safe.
+ */
+class GeoGrid {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    record Hit(long id, double distanceKm) {}
+
+    private record Point(long id, double lat, double lon) {}
+
+    private final double cellDegrees;
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(long id, double lat, double lon) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Point p = new Point(id, lat, lon);
+            points.put(id, p);
+            cells.computeIfAbsent(cellKey(row(lat), wrapCol(col(lon))), k -> new ArrayList<>()).add(p);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Point old = points.remove(id);
+        if (old != null) {
+            long key = cellKey(row(old.lat()), wrapCol(col(old.lon())));
+            List<Point> cell = cells.get(key);
+            if (cell != null) {
+                cell.removeIf(p -> p.id() == id);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /** Points within radiusKm of (lat, lon), nearest first. */
+    List<Hit> withinRadius(double lat, double lon, double radiusKm, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double cos = Math.max(Math.cos(Math.toRadians(lat)), 1e-6);
+        double dLon = Math.min(180, radiusKm / (KM_PER_DEGREE * cos));
+        return scan(lat - dLat, lon - dLon, lat + dLat, lon + dLon, lat, lon, radiusKm, limit);
+    }
+
+    /** Points inside the box, nearest to (fromLat, fromLon) first. */
+    List<Hit> withinBox(double minLat, double minLon, double maxLat, double maxLon,
+            double fromLat, double fromLon, int limit) {
+        return scan(minLat, minLon, maxLat, maxLon, fromLat, fromLon, Double.MAX_VALUE, limit);
+    }
+
+    private List<Hit> scan(double minLat, double minLon, double maxLat, double maxLon,
+            double fromLat, double fromLon, double maxKm, int limit) {
+        minLat = Math.max(-90, minLat);
+        maxLat = Math.min(90, maxLat);
+        if (maxLon < minLon) {
+            maxLon += 360; // box crosses the antimeridian
+        }
+        if (maxLon - minLon >= 360) {
+            minLon = -180;
+            maxLon = 180;
+        }
+        int fromCol = col(minLon);
+        // A box as wide as the globe would otherwise visit its first column twice
+        int toCol = Math.min(col(maxLon), fromCol + columns() - 1);
+        long cellCount = (long) (row(maxLat) - row(minLat) + 1) * (toCol - fromCol + 1);
+        // Farthest kept hit on top, so at most `limit` hits are held
+        PriorityQueue<Hit> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(Hit::distanceKm).reversed());
+        lock.readLock().lock();
+        try {
+            if (cellCount > points.size()) {
+                collect(points.values(), minLat, minLon, maxLat, maxLon, fromLat, fromLon, maxKm,
+                        limit, nearest);
+            } else {
+                for (int r = row(minLat); r <= row(maxLat); r++) {
+                    for (int c = fromCol; c <= toCol; c++) {
+                        List<Point> cell = cells.get(cellKey(r, wrapCol(c)));
+                        if (cell != null) {
+                            collect(cell, minLat, minLon, maxLat, maxLon, fromLat, fromLon, maxKm,
+                                    limit, nearest);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private static void collect(Collection<Point> candidates,
+            double minLat, double minLon, double maxLat, double maxLon,
+            double fromLat, double fromLon, double maxKm, int limit, PriorityQueue<Hit> nearest) {
+        for (Point p : candidates) {
+            if (p.lat() < minLat || p.lat() > maxLat || !lonInRange(p.lon(), minLon, maxLon)) {
+                continue;
+            }
+            double d = distanceKm(fromLat, fromLon, p.lat(), p.lon());
+            if (d > maxKm) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new Hit(p.id(), d));
+            } else if (d < nearest.peek().distanceKm()) {
+                nearest.poll();
+                nearest.add(new Hit(p.id(), d));
+            }
+        }
+    }
+
+    // Longitude ranges may run past ±180 near the antimeridian
+    private static boolean lonInRange(double lon, double min, double max) {
+        return (lon >= min && lon <= max)
+                || (lon + 360 >= min && lon + 360 <= max)
+                || (lon - 360 >= min && lon - 360 <= max);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellDegrees);
+    }
+
+    private int col(double lon) {
+        return (int) Math.floor((lon + 180) / cellDegrees);
+    }
+
+    private int wrapCol(int c) {
+        return Math.floorMod(c, columns());
+    }
+
+    private int columns() {
+        return (int) Math.ceil(360 / cellDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
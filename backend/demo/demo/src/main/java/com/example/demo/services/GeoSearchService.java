@@ -0,0 +1,315 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.dto.NearbyJobDTO;
+import com.example.demo.dto.NearbyWorkerDTO;
+import com.example.demo.entity.Job;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.JobRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * "Near me" search over open jobs and available workers. Locations are
+ * geocoded offline against the bundled gazetteer when they are saved, and
+ * the resulting points are kept in two in-memory grids, so a radius or
+ * bounding-box query touches only the nearby cells.
+ *
+ * A worker's position is their user's location; a worker is listed unless
+ * their availability says they are not taking work.
+ */
+@Service
+public class GeoSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeoSearchService.class);
+
+    public static final double DEFAULT_RADIUS_KM = 25;
+    public static final double MAX_RADIUS_KM = 500;
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final int BACKFILL_CHUNK = 500;
+    private static final Set<String> UNAVAILABLE = Set.of("unavailable", "not available", "busy");
+
+    private final Geocoder geocoder;
+    private final JobRepository jobRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final WorkerRepository workerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final GeoGrid jobs;
+    private final GeoGrid workers;
+    // userId -> workerId, so a user's move can re-place their worker
+    private final Map<Long, Long> workerOfUser = new ConcurrentHashMap<>();
+
+    public GeoSearchService(Geocoder geocoder,
+            JobRepository jobRepository,
+            ProjectRepository projectRepository,
+            UserRepository userRepository,
+            WorkerRepository workerRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${geo.grid.cell-degrees:0.25}") double cellDegrees) {
+        this.geocoder = geocoder;
+        this.jobRepository = jobRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.workerRepository = workerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobs = new GeoGrid(cellDegrees);
+        this.workers = new GeoGrid(cellDegrees);
+    }
+
+    // ── Geocoding ────────────────────────────────────────────────────────────
+
+    /** Sets the job's coordinates from its location; null when the place is unknown. */
+    public void locate(Job job) {
+        double[] point = geocoder.geocode(job.getLocation()).orElse(null);
+        job.setLatitude(point != null ? point[0] : null);
+        job.setLongitude(point != null ? point[1] : null);
+    }
+
+    public void locate(Project project) {
+        double[] point = geocoder.geocode(project.getLocation()).orElse(null);
+        project.setLatitude(point != null ? point[0] : null);
+        project.setLongitude(point != null ? point[1] : null);
+    }
+
+    public void locate(User user) {
+        double[] point = geocoder.geocode(user.getLocation()).orElse(null);
+        user.setLatitude(point != null ? point[0] : null);
+        user.setLongitude(point != null ? point[1] : null);
+    }
+
+    /** Coordinates for free text such as "Pune, Maharashtra". */
+    public Optional<double[]> geocode(String location) {
+        return geocoder.geocode(location);
+    }
+
+    // ── Index maintenance ────────────────────────────────────────────────────
+
+    // Runs after the skill backfill; rows whose place is unknown stay null and are retried next start
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int checked = backfill(
+                after -> jobRepository.findByLatitudeIsNullAndLocationIsNotNullAndIdGreaterThanOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK)),
+                Job::getId, this::locate)
+                + backfill(
+                after -> projectRepository.findByLatitudeIsNullAndLocationIsNotNullAndIdGreaterThanOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK)),
+                Project::getId, this::locate)
+                + backfill(
+                after -> userRepository.findByLatitudeIsNullAndLocationIsNotNullAndIdGreaterThanOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK)),
+                User::getId, this::locate);
+
+        jobs.clear();
+        for (Object[] r : jobRepository.findOpenJobPositions()) {
+            jobs.put((Long) r[0], (Double) r[1], (Double) r[2]);
+        }
+
+        workers.clear();
+        workerOfUser.clear();
+        for (Object[] r : workerRepository.findWorkerPositions()) {
+            Long workerId = (Long) r[0];
+            workerOfUser.put((Long) r[1], workerId);
+            if (r[2] != null && r[3] != null && isAvailable((String) r[4])) {
+                workers.put(workerId, (Double) r[2], (Double) r[3]);
+            }
+        }
+        log.info("Geo index built with {} open jobs and {} available workers ({} ungeocoded rows checked)",
+                jobs.size(), workers.size(), checked);
+    }
+
+    /** A job was created or changed status or location. */
+    public void onJobSaved(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+        if ("OPEN".equalsIgnoreCase(job.getStatus())
+                && job.getLatitude() != null && job.getLongitude() != null) {
+            jobs.put(job.getId(), job.getLatitude(), job.getLongitude());
+        } else {
+            jobs.remove(job.getId());
+        }
+    }
+
+    /** A worker was created or their availability changed. */
+    public void onWorkerSaved(Worker worker) {
+        if (worker.getId() == null) {
+            return;
+        }
+        User user = worker.getUser();
+        if (user != null && user.getId() != null) {
+            workerOfUser.put(user.getId(), worker.getId());
+            if (user.getLatitude() == null && user.getLocation() == null) {
+                // Request bodies carry only the user id
+                user = userRepository.findById(user.getId()).orElse(user);
+            }
+        }
+        if (user != null && user.getLatitude() != null && user.getLongitude() != null
+                && isAvailable(worker.getAvailability())) {
+            workers.put(worker.getId(), user.getLatitude(), user.getLongitude());
+        } else {
+            workers.remove(worker.getId());
+        }
+    }
+
+    public void onWorkerRemoved(Long workerId) {
+        workers.remove(workerId);
+        workerOfUser.values().remove(workerId);
+    }
+
+    /** The user's coordinates changed; moves their worker, if they have one. */
+    public void onUserMoved(User user) {
+        Long workerId = workerOfUser.get(user.getId());
+        if (workerId == null) {
+            return;
+        }
+        if (user.getLatitude() == null || user.getLongitude() == null) {
+            workers.remove(workerId);
+            return;
+        }
+        workerRepository.findById(workerId).ifPresent(worker -> {
+            if (isAvailable(worker.getAvailability())) {
+                workers.put(workerId, user.getLatitude(), user.getLongitude());
+            }
+        });
+    }
+
+    static boolean isAvailable(String availability) {
+        return availability == null
+                || !UNAVAILABLE.contains(availability.trim().toLowerCase(Locale.ROOT));
+    }
+
+    // ── Queries ──────────────────────────────────────────────────────────────
+
+    /** Open jobs within radiusKm of the point, nearest first. */
+    public List<NearbyJobDTO> nearbyJobs(double lat, double lon, Double radiusKm, Integer limit) {
+        return jobsFor(jobs.withinRadius(lat, lon, radius(radiusKm), limit(limit)));
+    }
+
+    /** Open jobs inside the box, nearest to (fromLat, fromLon) first. */
+    public List<NearbyJobDTO> jobsWithin(double minLat, double minLon, double maxLat, double maxLon,
+            double fromLat, double fromLon, Integer limit) {
+        return jobsFor(jobs.withinBox(minLat, minLon, maxLat, maxLon, fromLat, fromLon, limit(limit)));
+    }
+
+    /** Available workers within radiusKm of the point, nearest first. */
+    public List<NearbyWorkerDTO> nearbyWorkers(double lat, double lon, Double radiusKm, Integer limit) {
+        return workersFor(workers.withinRadius(lat, lon, radius(radiusKm), limit(limit)));
+    }
+
+    /** Available workers inside the box, nearest to (fromLat, fromLon) first. */
+    public List<NearbyWorkerDTO> workersWithin(double minLat, double minLon, double maxLat, double maxLon,
+            double fromLat, double fromLon, Integer limit) {
+        return workersFor(workers.withinBox(minLat, minLon, maxLat, maxLon, fromLat, fromLon, limit(limit)));
+    }
+
+    private List<NearbyJobDTO> jobsFor(List<GeoGrid.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            ids.add(hit.id());
+        }
+        Map<Long, JobListingDTO> byId = new HashMap<>();
+        for (JobListingDTO job : jobRepository.findListingsByIdIn(ids)) {
+            byId.put(job.getId(), job);
+        }
+        List<NearbyJobDTO> result = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            JobListingDTO job = byId.get(hit.id());
+            if (job != null) {
+                result.add(new NearbyJobDTO(job, round(hit.distanceKm())));
+            }
+        }
+        return result;
+    }
+
+    private List<NearbyWorkerDTO> workersFor(List<GeoGrid.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            ids.add(hit.id());
+        }
+        Map<Long, Object[]> byId = new HashMap<>();
+        for (Object[] r : workerRepository.findDisplayFieldsByIdIn(ids)) {
+            byId.put((Long) r[0], r);
+        }
+        List<NearbyWorkerDTO> result = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            Object[] r = byId.get(hit.id());
+            if (r != null) {
+                result.add(new NearbyWorkerDTO(hit.id(), (String) r[1], (String) r[2],
+                        round(hit.distanceKm())));
+            }
+        }
+        return result;
+    }
+
+    private static double radius(Double radiusKm) {
+        if (radiusKm == null || radiusKm <= 0) {
+            return DEFAULT_RADIUS_KM;
+        }
+        return Math.min(radiusKm, MAX_RADIUS_KM);
+    }
+
+    private static int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 100) / 100.0;
+    }
+
+    // Same chunked pattern as the skill bitset backfill
+    private <T> int backfill(Function<Long, List<T>> nextChunk,
+            Function<T, Long> idOf, Consumer<T> fill) {
+        int checked = 0;
+        long after = 0;
+        while (true) {
+            final long from = after;
+            List<T> rows = transactionTemplate.execute(status -> {
+                List<T> chunk = nextChunk.apply(from);
+                chunk.forEach(fill);
+                return chunk;
+            });
+            if (rows == null || rows.isEmpty()) {
+                return checked;
+            }
+            checked += rows.size();
+            after = idOf.apply(rows.get(rows.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder backed by a gazetteer CSV on the classpath
+ * (city,region,region_code,country,latitude,longitude). Free-text
+ * locations such as "Surat, Gujarat", "New York, NY" or "Pune" are
+ * resolved to the city's centre; anything not in the file stays
+ * unresolved. No external service is called.
+ */
+@Service
+public class Geocoder {
+
+    private static final Logger log = LoggerFactory.getLogger(Geocoder.class);
+
+    private final Resource gazetteer;
+    // "city, region" / "city, code" / "city" -> [lat, lon]; first entry wins for bare city names
+    private final Map<String, double[]> places = new HashMap<>();
+
+    public Geocoder(@Value("${geo.gazetteer:classpath:geo/gazetteer.csv}") Resource gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] f = line.split(",");
+                if (f.length < 6) {
+                    continue;
+                }
+                double[] point = {Double.parseDouble(f[4].trim()), Double.parseDouble(f[5].trim())};
+                String city = normalize(f[0]);
+                places.putIfAbsent(city + ", " + normalize(f[1]), point);
+                places.putIfAbsent(city + ", " + normalize(f[2]), point);
+                places.putIfAbsent(city, point);
+            }
+        }
+        log.info("Gazetteer loaded with {} place keys", places.size());
+    }
+
+    /** [latitude, longitude] for a free-text location, if the gazetteer knows it. */
+    public Optional<double[]> geocode(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        String[] parts = location.split(",");
+        String city = normalize(parts[0]);
+        if (parts.length > 1) {
+            double[] point = places.get(city + ", " + normalize(parts[1]));
+            if (point != null) {
+                return Optional.of(point.clone());
+            }
+        }
+        double[] point = places.get(city);
+        return point != null ? Optional.of(point.clone()) : Optional.empty();
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replace(".", "").replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,388 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.entity.Job;
+import com.example.demo.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the title, skills and description of open
+ * jobs. Each term maps to a sorted int[] of job ids with a parallel int[]
+ * of field weights, so AND queries are intersections of primitive arrays
+ * and OR queries a k-way merge; hits are ranked by weight x idf.
+ *
+ * The index is rebuilt from the database on startup and kept current by
+ * {@link #update(Job)} whenever a job is created or changes status. Only
+ * OPEN jobs are indexed.
+ */
+@Service
+public class JobSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILL_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_CHUNK = 5000;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in",
+            "is", "of", "on", "or", "the", "to", "with");
+
+    private final JobRepository jobRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+    // Updates that arrive while a rebuild runs, replayed onto the new index
+    private List<Update> replay;
+
+    public JobSearchIndex(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    // ── Build ────────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try {
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = jobRepository.findOpenJobText(afterId, Limit.of(REBUILD_CHUNK));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    fresh.put(docId(afterId),
+                            terms((String) row[1], (String) row[2], (String) row[3]));
+                }
+            } while (rows.size() == REBUILD_CHUNK);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Job search index rebuild failed; keeping the current index", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Update u : replay) {
+                fresh.apply(u);
+            }
+            index = fresh;
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job search index built with {} open jobs and {} terms",
+                fresh.docs.size(), fresh.postings.size());
+    }
+
+    // ── Incremental updates ──────────────────────────────────────────────────
+
+    /** Index the job if it is OPEN, otherwise drop it from the index. */
+    public void update(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+        Map<String, Integer> terms = "OPEN".equalsIgnoreCase(job.getStatus())
+                ? terms(job.getTitle(), job.getDescription(), job.getSkillsRequired())
+                : null;
+        Update u = new Update(docId(job.getId()), terms);
+
+        lock.writeLock().lock();
+        try {
+            index.apply(u);
+            if (replay != null) {
+                replay.add(u);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Query ────────────────────────────────────────────────────────────────
+
+    /**
+     * Ranked open jobs matching every term (matchAll) or any term of the query.
+     */
+    public List<JobListingDTO> search(String query, boolean matchAll, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(queryTerms, matchAll, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, JobListingDTO> byId = new HashMap<>();
+        for (JobListingDTO job : jobRepository.findListingsByIdIn(ids)) {
+            byId.put(job.getId(), job);
+        }
+        List<JobListingDTO> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            JobListingDTO job = byId.get(id);
+            if (job != null) {
+                ranked.add(job);
+            }
+        }
+        return ranked;
+    }
+
+    // ── Tokenizing ───────────────────────────────────────────────────────────
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (raw.length() > 1 && !STOP_WORDS.contains(raw)) {
+                tokens.add(raw);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> terms(String title, String description, String skills) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String t : tokenize(title)) {
+            terms.merge(t, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String t : tokenize(skills)) {
+            terms.merge(t, SKILL_WEIGHT, Integer::sum);
+        }
+        for (String t : tokenize(description)) {
+            terms.merge(t, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return terms;
+    }
+
+    private static int docId(long jobId) {
+        return Math.toIntExact(jobId);
+    }
+
+    // ── Index structures (guarded by lock) ───────────────────────────────────
+
+    private record Update(int docId, Map<String, Integer> terms) {}
+
+    private record Hit(int docId, double score) {}
+
+    private static final class Index {
+
+        final Map<String, Postings> postings = new HashMap<>();
+        // docId -> its terms, so a document can be removed without a rescan
+        final Map<Integer, String[]> docs = new HashMap<>();
+
+        void apply(Update u) {
+            if (u.terms() == null) {
+                remove(u.docId());
+            } else {
+                put(u.docId(), u.terms());
+            }
+        }
+
+        void put(int docId, Map<String, Integer> terms) {
+            remove(docId);
+            if (terms.isEmpty()) {
+                return;
+            }
+            terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new Postings()).put(docId, weight));
+            docs.put(docId, terms.keySet().toArray(new String[0]));
+        }
+
+        void remove(int docId) {
+            String[] terms = docs.remove(docId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p != null && p.remove(docId) && p.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        List<Long> search(List<String> terms, boolean matchAll, int limit) {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p != null) {
+                    lists.add(p);
+                } else if (matchAll) {
+                    return List.of();
+                }
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+
+            double n = docs.size();
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < idf.length; i++) {
+                idf[i] = Math.log(1 + n / lists.get(i).size);
+            }
+
+            // Min-heap on score keeps the best `limit` hits; ties favour newer jobs
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1,
+                    Comparator.comparingDouble(Hit::score).thenComparingInt(Hit::docId));
+            if (matchAll) {
+                intersect(lists, idf, top, limit);
+            } else {
+                union(lists, idf, top, limit);
+            }
+
+            List<Long> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ids.add((long) top.poll().docId());
+            }
+            Collections.reverse(ids);
+            return ids;
+        }
+
+        // Walk the shortest list and binary-search the others
+        private static void intersect(List<Postings> lists, double[] idf,
+                PriorityQueue<Hit> top, int limit) {
+            int shortest = 0;
+            for (int i = 1; i < lists.size(); i++) {
+                if (lists.get(i).size < lists.get(shortest).size) {
+                    shortest = i;
+                }
+            }
+            Postings driver = lists.get(shortest);
+            int[] from = new int[lists.size()];
+            outer:
+            for (int d = 0; d < driver.size; d++) {
+                int docId = driver.ids[d];
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Postings p = lists.get(i);
+                    int at = Arrays.binarySearch(p.ids, from[i], p.size, docId);
+                    if (at < 0) {
+                        from[i] = -at - 1;
+                        continue outer;
+                    }
+                    from[i] = at + 1;
+                    score += p.weights[at] * idf[i];
+                }
+                offer(top, docId, score, limit);
+            }
+        }
+
+        // k-way merge over the sorted lists, summing the score of each doc
+        private static void union(List<Postings> lists, double[] idf,
+                PriorityQueue<Hit> top, int limit) {
+            int[] pos = new int[lists.size()];
+            while (true) {
+                int docId = Integer.MAX_VALUE;
+                for (int i = 0; i < lists.size(); i++) {
+                    Postings p = lists.get(i);
+                    if (pos[i] < p.size && p.ids[pos[i]] < docId) {
+                        docId = p.ids[pos[i]];
+                    }
+                }
+                if (docId == Integer.MAX_VALUE) {
+                    return;
+                }
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Postings p = lists.get(i);
+                    if (pos[i] < p.size && p.ids[pos[i]] == docId) {
+                        score += p.weights[pos[i]] * idf[i];
+                        pos[i]++;
+                    }
+                }
+                offer(top, docId, score, limit);
+            }
+        }
+
+        private static void offer(PriorityQueue<Hit> top, int docId, double score, int limit) {
+            top.offer(new Hit(docId, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    /** Sorted job ids for one term with a parallel array of field weights. */
+    private static final class Postings {
+
+        int[] ids = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void put(int docId, int weight) {
+            // Ids mostly arrive in increasing order, so appending is the common case
+            int at = size > 0 && ids[size - 1] < docId
+                    ? -(size + 1)
+                    : Arrays.binarySearch(ids, 0, size, docId);
+            if (at >= 0) {
+                weights[at] = weight;
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            ids[at] = docId;
+            weights[at] = weight;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int at = Arrays.binarySearch(ids, 0, size, docId);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.dto.JobPageDTO;
+import com.example.demo.dto.JobSearchFilter;
+import com.example.demo.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class JobSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchService.class);
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public JobSearchService(JobRepository jobRepository,
+            PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ── One keyset page of the job board, newest first ──────────────────────
+    @Transactional(readOnly = true)
+    public JobPageDTO search(JobSearchFilter filter, LocalDateTime cursorCreatedAt,
+            Long cursorId, Integer limit) {
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page exists
+        List<JobListingDTO> rows = jobRepository.search(filter, cursorCreatedAt, cursorId, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        JobListingDTO last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return new JobPageDTO(rows,
+                last != null ? last.getCreatedAt() : cursorCreatedAt,
+                last != null ? last.getId() : cursorId,
+                hasMore);
+    }
+
+    // ── Trigram indexes behind the location / skill substring filters ───────
+    // pg_trgm may not be installable (no privilege); the filters then scan
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndexes() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jobRepository.createTrigramExtension();
+                jobRepository.createLocationSearchIndex();
+                jobRepository.createSkillsSearchIndex();
+            });
+            log.info("Job location and skill search indexes ensured");
+        } catch (DataAccessException e) {
+            log.warn("Job search trigram indexes not created; location and skill filters "
+                    + "will scan: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.Job;
+import com.example.demo.entity.NotificationOutbox;
+import com.example.demo.repository.ApplicationRepository;
+import com.example.demo.repository.JobRepository;
+import com.example.demo.repository.NotificationOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class JobService {
+
+    private final JobRepository jobRepository;
+    private final ApplicationRepository applicationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+
+    public JobService(JobRepository jobRepository,
+            ApplicationRepository applicationRepository,
+            NotificationOutboxRepository outboxRepository) {
+        this.jobRepository = jobRepository;
+        this.applicationRepository = applicationRepository;
+        this.outboxRepository = outboxRepository;
+    }
+
+    // ── Status change, notifying the contractor and the hired workers ───────
+    @Transactional
+    public Optional<Job> updateStatus(Long jobId, String status) {
+        return jobRepository.findById(jobId).map(job -> {
+            job.setStatus(status);
+
+            Set<Long> recipients = new LinkedHashSet<>(
+                    applicationRepository.findWorkerUserIds(jobId, "ACCEPTED"));
+            if (job.getContractor() != null && job.getContractor().getUser() != null) {
+                recipients.add(job.getContractor().getUser().getId());
+            }
+
+            String message = "Job" + (job.getTitle() != null ? " \"" + job.getTitle() + "\"" : "")
+                    + " is now " + status;
+            for (Long userId : recipients) {
+                outboxRepository.save(new NotificationOutbox(
+                        userId, NotificationOutbox.JOB_STATUS, jobId, status, message));
+            }
+            return job;
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.NotificationDTO;
+import com.example.demo.entity.NotificationOutbox;
+import com.example.demo.repository.NotificationOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes outbox rows to users over STOMP. Each run locks a batch of
+ * pending rows (SKIP LOCKED, so several nodes can relay side by side),
+ * sends one frame per recipient holding all of that user's notifications,
+ * and marks the batch dispatched in the same transaction.
+ */
+@Service
+public class NotificationRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRelay.class);
+
+    private static final String DESTINATION_PREFIX = "/topic/notifications/";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionDays;
+
+    public NotificationRelay(NotificationOutboxRepository outboxRepository,
+            SimpMessagingTemplate messagingTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${notifications.relay.batch-size:200}") int batchSize,
+            @Value("${notifications.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.relay.interval-ms:500}")
+    public void relay() {
+        int sent;
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+        } while (sent == batchSize);
+    }
+
+    private int relayBatch() {
+        List<NotificationOutbox> rows = outboxRepository.lockPending(batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<NotificationDTO>> byUser = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (NotificationOutbox row : rows) {
+            byUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>())
+                    .add(new NotificationDTO(row));
+            ids.add(row.getId());
+        }
+
+        byUser.forEach((userId, frame) ->
+                messagingTemplate.convertAndSend(DESTINATION_PREFIX + userId, frame));
+
+        outboxRepository.markDispatched(ids, LocalDateTime.now());
+        return rows.size();
+    }
+
+    // ── Drop dispatched rows once they are past the retention window ────────
+    @Scheduled(fixedDelayString = "${notifications.outbox.cleanup-interval-ms:3600000}")
+    public void purgeDispatched() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxRepository.deleteDispatchedBefore(
+                        LocalDateTime.now().minusDays(retentionDays)));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} dispatched notifications", removed);
+        }
+    }
+}
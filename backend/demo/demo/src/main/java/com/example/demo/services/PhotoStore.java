@@ -0,0 +1,315 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.PhotoUploadDTO;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for profile photos on the local filesystem. A
+ * photo is kept under the SHA-256 of its bytes ({@code ab/abcd….jpg}) next
+ * to a generated thumbnail, so identical uploads share one file and a
+ * stored file never changes — which is what lets /api/photos serve them
+ * as immutable.
+ *
+ * Users only carry the photo's URL; base64 data URIs sent by older clients
+ * are stored here on save, and existing ones are moved over at startup.
+ */
+@Service
+public class PhotoStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoStore.class);
+
+    public static final String URL_PATH = "/api/photos/";
+    public static final String THUMBNAIL_QUERY = "?size=thumb";
+
+    private static final int MIGRATION_CHUNK = 50;
+    private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})\\.(jpg|png|gif)");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "jpeg", "jpg", "jpg", "jpg", "png", "png", "gif", "gif");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg", "png", "image/png", "gif", "image/gif");
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final String publicBaseUrl;
+    private final int maxBytes;
+    private final long maxPixels;
+    private final int thumbnailSize;
+
+    public PhotoStore(UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${photos.store.dir:data/photos}") String root,
+            @Value("${photos.public-base-url:}") String publicBaseUrl,
+            @Value("${photos.max-bytes:5242880}") int maxBytes,
+            @Value("${photos.max-pixels:40000000}") long maxPixels,
+            @Value("${photos.thumbnail.size:160}") int thumbnailSize) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    // ── Store ────────────────────────────────────────────────────────────────
+
+    /**
+     * Stores a JPEG, PNG or GIF and its thumbnail; storing the same bytes
+     * again is a no-op that returns the same URLs.
+     *
+     * @throws IllegalArgumentException if the bytes are not a supported image
+     *         or exceed the size limits
+     */
+    public PhotoUploadDTO store(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Photo is empty");
+        }
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException("Photo is larger than " + maxBytes + " bytes");
+        }
+        Decoded decoded = decode(bytes);
+        String hash = sha256(bytes);
+        String name = hash + "." + decoded.extension();
+
+        try {
+            Path original = pathOf(hash, decoded.extension(), false);
+            if (!Files.exists(original)) {
+                write(original, bytes);
+            }
+            Path thumbnail = pathOf(hash, decoded.extension(), true);
+            if (!Files.exists(thumbnail)) {
+                write(thumbnail, thumbnail(decoded.image(), thumbnailExtension(decoded.extension())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store photo " + name, e);
+        }
+
+        String url = publicBaseUrl + URL_PATH + name;
+        return new PhotoUploadDTO(hash, url, url + THUMBNAIL_QUERY);
+    }
+
+    /**
+     * The value to keep in {@code User.profilePhoto}: a base64 data URI is
+     * stored and replaced by its URL, anything else is returned unchanged.
+     */
+    public String toPhotoUrl(String profilePhoto) {
+        if (profilePhoto == null || !profilePhoto.regionMatches(true, 0, "data:", 0, 5)) {
+            return profilePhoto;
+        }
+        int comma = profilePhoto.indexOf(',');
+        if (comma < 0 || !profilePhoto.substring(0, comma).toLowerCase(Locale.ROOT).endsWith(";base64")) {
+            throw new IllegalArgumentException("Photo data URI must be base64-encoded");
+        }
+        // Cheap bound before decoding: base64 is 4 chars per 3 bytes
+        if ((long) (profilePhoto.length() - comma - 1) * 3 / 4 > maxBytes + 3L) {
+            throw new IllegalArgumentException("Photo is larger than " + maxBytes + " bytes");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(profilePhoto.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Photo data URI is not valid base64");
+        }
+        return store(bytes).getUrl();
+    }
+
+    // ── Lookup ───────────────────────────────────────────────────────────────
+
+    /** The file behind {@code /api/photos/{name}}, if it is a stored photo. */
+    public Optional<Path> resolve(String name, boolean thumbnail) {
+        Matcher m = NAME.matcher(name);
+        if (!m.matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(m.group(1), m.group(2), thumbnail);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public static String contentType(Path path) {
+        String file = path.getFileName().toString();
+        return CONTENT_TYPES.getOrDefault(file.substring(file.lastIndexOf('.') + 1),
+                "application/octet-stream");
+    }
+
+    // ab/<hash>.jpg and ab/<hash>-thumb.jpg; PNG and GIF thumbnails are PNG
+    private Path pathOf(String hash, String extension, boolean thumbnail) {
+        String file = thumbnail
+                ? hash + "-thumb." + thumbnailExtension(extension)
+                : hash + "." + extension;
+        return root.resolve(hash.substring(0, 2)).resolve(file);
+    }
+
+    private static String thumbnailExtension(String extension) {
+        return "jpg".equals(extension) ? "jpg" : "png";
+    }
+
+    // ── Migration of inline base64 photos ────────────────────────────────────
+
+    // Users are loaded a few at a time since each row still carries its blob
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlinePhotos() {
+        int moved = 0;
+        int failed = 0;
+        long after = 0;
+        while (true) {
+            final long from = after;
+            int[] counts = new int[2];
+            List<User> rows = transactionTemplate.execute(status -> {
+                List<User> chunk = userRepository.findByProfilePhotoStartingWithAndIdGreaterThanOrderByIdAsc(
+                        "data:", from, Limit.of(MIGRATION_CHUNK));
+                for (User user : chunk) {
+                    try {
+                        user.setProfilePhoto(toPhotoUrl(user.getProfilePhoto()));
+                        counts[0]++;
+                    } catch (RuntimeException e) {
+                        log.warn("Could not move inline photo of user {}: {}", user.getId(), e.getMessage());
+                        counts[1]++;
+                    }
+                }
+                return chunk;
+            });
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            moved += counts[0];
+            failed += counts[1];
+            after = rows.get(rows.size() - 1).getId();
+        }
+        if (moved > 0 || failed > 0) {
+            log.info("Moved {} inline profile photos to the photo store ({} left inline)", moved, failed);
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private record Decoded(BufferedImage image, String extension) {}
+
+    // Checks dimensions from the header before decoding the pixels
+    private Decoded decode(byte[] bytes) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Photo is not a readable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                String extension = EXTENSIONS.get(reader.getFormatName().toLowerCase(Locale.ROOT));
+                if (extension == null) {
+                    throw new IllegalArgumentException("Photo must be a JPEG, PNG or GIF");
+                }
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new IllegalArgumentException("Photo is larger than " + maxPixels + " pixels");
+                }
+                return new Decoded(reader.read(0), extension);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Photo is not a readable image");
+        }
+    }
+
+    // Halves in steps before the last bilinear pass so large downscales stay smooth
+    private byte[] thumbnail(BufferedImage source, String extension) throws IOException {
+        boolean alpha = "png".equals(extension) && source.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        double scale = Math.min(1.0,
+                (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        do {
+            int w = Math.max(width, current.getWidth() / 2);
+            int h = Math.max(height, current.getHeight() / 2);
+            if (current != source && w == current.getWidth() && h == current.getHeight()) {
+                break;
+            }
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    // JPEG has no alpha; flatten transparent pixels onto white
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, w, h);
+                }
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() > width || current.getHeight() > height);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(current, "jpg".equals(extension) ? "jpeg" : "png", out);
+        return out.toByteArray();
+    }
+
+    // Write to a temp file and rename, so readers never see a partial photo
+    private static void write(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
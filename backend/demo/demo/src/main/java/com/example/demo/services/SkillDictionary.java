@@ -0,0 +1,305 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.Job;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.Skill;
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.JobRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.SkillRepository;
+import com.example.demo.repository.WorkerRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Interns every skill name to a small integer id (the skills table) and
+ * turns skill lists into long[] bitsets, so comparing a worker's skills
+ * with a job's is a popcount over a few longs.
+ *
+ * Names are normalized (trimmed, lower case, single spaces) before lookup,
+ * so "React.js", " react.js " and "REACT.JS" share one id.
+ */
+@Service
+public class SkillDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillDictionary.class);
+
+    private static final int BACKFILL_CHUNK = 500;
+
+    private final SkillRepository skillRepository;
+    private final JobRepository jobRepository;
+    private final ProjectRepository projectRepository;
+    private final WorkerRepository workerRepository;
+    private final TransactionTemplate transactionTemplate;
+    // New skills commit on their own, so an id is never handed out for a row that rolls back
+    private final TransactionTemplate internTransaction;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> labels = new ConcurrentHashMap<>();
+
+    public SkillDictionary(SkillRepository skillRepository,
+            JobRepository jobRepository,
+            ProjectRepository projectRepository,
+            WorkerRepository workerRepository,
+            PlatformTransactionManager transactionManager) {
+        this.skillRepository = skillRepository;
+        this.jobRepository = jobRepository;
+        this.projectRepository = projectRepository;
+        this.workerRepository = workerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.internTransaction = new TransactionTemplate(transactionManager);
+        internTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void load() {
+        widenColumns();
+        for (Skill skill : skillRepository.findAll()) {
+            remember(skill);
+        }
+    }
+
+    // One-off: tables created with the old 100-character columns
+    private void widenColumns() {
+        Integer length = skillRepository.findNameColumnLength();
+        if (length != null && length < Skill.MAX_LENGTH) {
+            transactionTemplate.executeWithoutResult(status -> skillRepository.widenNameColumns());
+            log.info("Widened skills.name and skills.label from {} to {} characters",
+                    length, Skill.MAX_LENGTH);
+        }
+    }
+
+    // ── Interning ────────────────────────────────────────────────────────────
+
+    /** Id for the skill, creating it on first use; null for a blank name. */
+    public Integer intern(String skill) {
+        String name = normalize(skill);
+        if (name == null) {
+            return null;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        Skill saved = internTransaction.execute(status -> {
+            skillRepository.insertIfAbsent(name, skill.trim());
+            return skillRepository.findByName(name).orElseThrow();
+        });
+        remember(saved);
+        return saved.getId();
+    }
+
+    /** Id for the skill if it is already known, without creating it. */
+    public Integer lookup(String skill) {
+        String name = normalize(skill);
+        return name == null ? null : ids.get(name);
+    }
+
+    /**
+     * Like {@link #lookup}, but a skill this node has not seen is looked up
+     * in the skills table, since another node may have interned it.
+     */
+    public Integer find(String skill) {
+        Integer id = lookup(skill);
+        if (id != null) {
+            return id;
+        }
+        String name = normalize(skill);
+        if (name == null) {
+            return null;
+        }
+        Optional<Skill> stored = skillRepository.findByName(name);
+        stored.ifPresent(this::remember);
+        return stored.map(Skill::getId).orElse(null);
+    }
+
+    public String label(int id) {
+        return labels.get(id);
+    }
+
+    private void remember(Skill skill) {
+        ids.put(skill.getName(), skill.getId());
+        labels.put(skill.getId(), skill.getLabel() != null ? skill.getLabel() : skill.getName());
+    }
+
+    /**
+     * Lookup key for a skill or certification: trimmed, single spaces,
+     * lower case (null when blank). The SQL search compares against this too.
+     */
+    public static String normalize(String skill) {
+        String label = tidy(skill);
+        return label == null ? null : label.toLowerCase(Locale.ROOT);
+    }
+
+    /** Stored form of a skill list: trimmed, single spaces, blanks dropped, case kept. */
+    public static Set<String> tidy(Collection<String> skills) {
+        Set<String> result = new LinkedHashSet<>();
+        if (skills != null) {
+            for (String skill : skills) {
+                String label = tidy(skill);
+                if (label != null) {
+                    result.add(label);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String tidy(String skill) {
+        if (skill == null) {
+            return null;
+        }
+        String label = skill.trim().replaceAll("\\s+", " ");
+        return label.isEmpty() ? null : label;
+    }
+
+    // ── Bitsets ──────────────────────────────────────────────────────────────
+
+    /** Bitset of the given skills, interning any that are new. */
+    public long[] toMask(Collection<String> skills) {
+        long[] mask = new long[0];
+        if (skills == null) {
+            return mask;
+        }
+        for (String skill : skills) {
+            Integer id = intern(skill);
+            if (id != null) {
+                mask = set(mask, id);
+            }
+        }
+        return mask;
+    }
+
+    /** Bitset of a comma-separated skill string, e.g. Job.skillsRequired. */
+    public long[] toMask(String commaSeparated) {
+        return toMask(split(commaSeparated));
+    }
+
+    /** Skill labels for the bits set in mask, in id order. */
+    public List<String> labels(long[] mask) {
+        List<String> result = new ArrayList<>();
+        if (mask == null) {
+            return result;
+        }
+        for (int word = 0; word < mask.length; word++) {
+            long bits = mask[word];
+            while (bits != 0) {
+                int id = word * 64 + Long.numberOfTrailingZeros(bits);
+                String label = labels.get(id);
+                if (label != null) {
+                    result.add(label);
+                }
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    public static List<String> split(String commaSeparated) {
+        if (commaSeparated == null || commaSeparated.isBlank()) {
+            return List.of();
+        }
+        return Arrays.asList(commaSeparated.split(","));
+    }
+
+    private static long[] set(long[] mask, int id) {
+        int word = id >>> 6;
+        if (word >= mask.length) {
+            mask = Arrays.copyOf(mask, word + 1);
+        }
+        mask[word] |= 1L << (id & 63);
+        return mask;
+    }
+
+    /** Number of skills present in both bitsets. */
+    public static int overlap(long[] a, long[] b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        int n = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    public static int count(long[] mask) {
+        if (mask == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // ── Migration from the string columns ───────────────────────────────────
+
+    // Runs before the listeners that build in-memory tables from the masks
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMasks() {
+        int jobs = backfill(
+                after -> jobRepository.findBySkillMaskIsNullAndIdGreaterThanOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK)),
+                Job::getId, job -> job.setSkillMask(toMask(job.getSkillsRequired())));
+        int projects = backfill(
+                after -> projectRepository.findBySkillMaskIsNullAndIdGreaterThanOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK)),
+                Project::getId, project -> project.setSkillMask(toMask(project.getSkills())));
+        int workers = backfill(
+                after -> workerRepository.findBySkillMaskIsNullAndIdGreaterThanOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK)),
+                Worker::getId, worker -> worker.setSkillMask(toMask(worker.getSkills())));
+
+        if (jobs + projects + workers > 0) {
+            log.info("Backfilled skill bitsets on {} jobs, {} projects and {} workers",
+                    jobs, projects, workers);
+        }
+    }
+
+    // Loads and updates one chunk per transaction; dirty checking writes the masks
+    private <T> int backfill(Function<Long, List<T>> nextChunk,
+            Function<T, Long> idOf, Consumer<T> fill) {
+        int total = 0;
+        long after = 0;
+        while (true) {
+            final long from = after;
+            List<T> rows = transactionTemplate.execute(status -> {
+                List<T> chunk = nextChunk.apply(from);
+                chunk.forEach(fill);
+                return chunk;
+            });
+            if (rows == null || rows.isEmpty()) {
+                return total;
+            }
+            total += rows.size();
+            after = idOf.apply(rows.get(rows.size() - 1));
+        }
+    }
+}
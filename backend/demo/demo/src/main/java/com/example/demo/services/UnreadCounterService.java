@@ -0,0 +1,273 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.ChatMessage;
+import com.example.demo.repository.ConversationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory unread badge counts, per user and per (user, contact).
+ *
+ * Users are spread over lock stripes so concurrent sends to different
+ * users rarely contend. A user's counts are loaded from the conversations
+ * table the first time they are asked for and then kept current from
+ * sends and mark-read calls. Entries expire after chat.unread.ttl-seconds
+ * so that counts changed on another node converge.
+ *
+ * The database read behind a load or a mark-read recount runs without the
+ * stripe lock. Messages sent meanwhile, and messages still waiting in the
+ * write-behind queue, are remembered by id and added on top of what the
+ * read returned unless the conversation row already covers them (their
+ * id is at or below its last_message_id).
+ */
+@Component
+public class UnreadCounterService {
+
+    private static final int STRIPES = 64;
+
+    private final ConversationRepository conversationRepository;
+    private final long ttlMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public UnreadCounterService(ConversationRepository conversationRepository,
+            @Value("${chat.unread.ttl-seconds:60}") long ttlSeconds) {
+        this.conversationRepository = conversationRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // 🔹 receiver got a new message from sender
+    public void increment(ChatMessage message) {
+        Long receiverId = message.getReceiverId();
+        Stripe stripe = stripeFor(receiverId);
+        stripe.lock.lock();
+        try {
+            UserCounts counts = stripe.users.get(receiverId);
+            if (counts != null) {
+                counts.byContact.merge(message.getSenderId(), 1L, Long::sum);
+                counts.total++;
+            }
+            Read read = stripe.reads.get(receiverId);
+            if (read != null) {
+                read.seen.put(message.getId(), message.getSenderId());
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // ── Write-behind bookkeeping ────────────────────────────────────────────
+
+    // 🔹 message is queued but not in the database yet
+    public void awaitingWrite(ChatMessage message) {
+        Long receiverId = message.getReceiverId();
+        Stripe stripe = stripeFor(receiverId);
+        stripe.lock.lock();
+        try {
+            stripe.unwritten.computeIfAbsent(receiverId, id -> new LinkedHashMap<>())
+                    .put(message.getId(), message.getSenderId());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // 🔹 messages were committed (or given up on); call after the commit
+    public void written(List<ChatMessage> messages) {
+        for (ChatMessage message : messages) {
+            Long receiverId = message.getReceiverId();
+            Stripe stripe = stripeFor(receiverId);
+            stripe.lock.lock();
+            try {
+                Map<Long, Long> unwritten = stripe.unwritten.get(receiverId);
+                if (unwritten != null) {
+                    unwritten.remove(message.getId());
+                    if (unwritten.isEmpty()) {
+                        stripe.unwritten.remove(receiverId);
+                    }
+                }
+                // A read in progress may have missed the commit; keep it as a candidate
+                Read read = stripe.reads.get(receiverId);
+                if (read != null) {
+                    read.seen.put(message.getId(), message.getSenderId());
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // ── Mark-read ────────────────────────────────────────────────────────────
+
+    /**
+     * reader read the chat with contact. readState moves the watermark and
+     * returns {unreadCount, lastReadMessageId, lastMessageId} for the row;
+     * messages the row does not cover yet are added back on top.
+     */
+    public void recount(Long readerId, Long contactId, Supplier<List<Object[]>> readState) {
+        Stripe stripe = stripeFor(readerId);
+        stripe.lock.lock();
+        try {
+            Map<Long, Long> candidates = beginRead(stripe, readerId);
+            List<Object[]> rows;
+            stripe.lock.unlock();
+            try {
+                rows = readState.get();
+            } finally {
+                stripe.lock.lock();
+                candidates.putAll(endRead(stripe, readerId));
+            }
+
+            long unread = 0;
+            long covered = 0;
+            if (!rows.isEmpty()) {
+                Object[] row = rows.get(0);
+                unread = ((Number) row[0]).longValue();
+                covered = Math.max(longValue(row[1]), longValue(row[2]));
+            }
+            for (Map.Entry<Long, Long> entry : candidates.entrySet()) {
+                if (entry.getValue().equals(contactId) && entry.getKey() > covered) {
+                    unread++;
+                }
+            }
+
+            UserCounts counts = stripe.users.get(readerId);
+            if (counts != null) {
+                Long previous = unread > 0
+                        ? counts.byContact.put(contactId, unread)
+                        : counts.byContact.remove(contactId);
+                counts.total += unread - (previous != null ? previous : 0L);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    public long getTotal(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            return load(stripe, userId).total;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public Map<Long, Long> getByContact(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            return new HashMap<>(load(stripe, userId).byContact);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Caller holds the stripe lock; the DB read on a miss happens without it
+    private UserCounts load(Stripe stripe, Long userId) {
+        UserCounts counts = stripe.users.get(userId);
+        if (counts != null && !counts.isExpired(ttlMillis)) {
+            return counts;
+        }
+
+        Map<Long, Long> candidates = beginRead(stripe, userId);
+        UserCounts fresh = new UserCounts(System.currentTimeMillis());
+        Map<Long, Long> covered = new HashMap<>();
+        stripe.lock.unlock();
+        try {
+            for (Object[] row : conversationRepository.findUnreadCounts(userId)) {
+                Long contactId = (Long) row[0];
+                long unread = ((Number) row[1]).longValue();
+                if (unread > 0) {
+                    fresh.byContact.put(contactId, unread);
+                    fresh.total += unread;
+                }
+                covered.put(contactId, longValue(row[2]));
+            }
+        } finally {
+            stripe.lock.lock();
+            candidates.putAll(endRead(stripe, userId));
+        }
+
+        // Another thread may have loaded the user meanwhile
+        counts = stripe.users.get(userId);
+        if (counts != null && !counts.isExpired(ttlMillis)) {
+            return counts;
+        }
+        for (Map.Entry<Long, Long> entry : candidates.entrySet()) {
+            Long contactId = entry.getValue();
+            if (entry.getKey() > covered.getOrDefault(contactId, 0L)) {
+                fresh.byContact.merge(contactId, 1L, Long::sum);
+                fresh.total++;
+            }
+        }
+        stripe.users.values().removeIf(c -> c.isExpired(ttlMillis));
+        stripe.users.put(userId, fresh);
+        return fresh;
+    }
+
+    // Start collecting messages for userId; returns those not written yet (messageId -> senderId)
+    private static Map<Long, Long> beginRead(Stripe stripe, Long userId) {
+        stripe.reads.computeIfAbsent(userId, id -> new Read()).active++;
+        Map<Long, Long> unwritten = stripe.unwritten.get(userId);
+        return unwritten != null ? new HashMap<>(unwritten) : new HashMap<>();
+    }
+
+    // Messages sent or written while the read ran
+    private static Map<Long, Long> endRead(Stripe stripe, Long userId) {
+        Read read = stripe.reads.get(userId);
+        Map<Long, Long> seen = new HashMap<>(read.seen);
+        if (--read.active == 0) {
+            stripe.reads.remove(userId);
+        }
+        return seen;
+    }
+
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private Stripe stripeFor(Long userId) {
+        int h = Long.hashCode(userId);
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+
+    private static class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Long, UserCounts> users = new HashMap<>();
+        // receiverId -> (messageId -> senderId) queued for write-behind
+        final Map<Long, Map<Long, Long>> unwritten = new HashMap<>();
+        // receiverId -> messages seen while a DB read for that user runs
+        final Map<Long, Read> reads = new HashMap<>();
+    }
+
+    private static class Read {
+        int active;
+        final Map<Long, Long> seen = new HashMap<>();
+    }
+
+    private static class UserCounts {
+        final long loadedAt;
+        final Map<Long, Long> byContact = new HashMap<>();
+        long total;
+
+        UserCounts(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.entity.Job;
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.JobRepository;
+import com.example.demo.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recommended open jobs per worker. Feeds are computed once from an
+ * in-memory table of open-job features, kept in a size-bounded LRU cache
+ * and patched in place when a job opens or closes, so serving a page is a
+ * sublist plus one listing query.
+ *
+ * A job is recommended when it shares a skill with the worker or, for a
+ * worker with no skills, is in the worker's city. Score:
+ * 0.5 x share of the job's skills the worker has
+ * + 0.3 if the city matches
+ * + 0.2 x pay rate / worker's hourly rate (capped at 1; 0.5 when unknown)
+ *
+ * A missing feed is scored outside the lock against a snapshot of the
+ * table. Job changes made meanwhile are replayed onto it before it is
+ * cached, and it is not cached at all if the worker was invalidated meanwhile.
+ */
+@Service
+public class WorkerFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerFeedService.class);
+
+    private static final int REBUILD_CHUNK = 5000;
+    // Job changes remembered for replay onto feeds computed meanwhile
+    private static final int CHANGE_LOG_SIZE = 1024;
+    private static final int VERSION_STRIPES = 1024;
+
+    private final JobRepository jobRepository;
+    private final WorkerRepository workerRepository;
+    private final int maxItems;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final Map<Long, OpenJob> openJobs = new HashMap<>();
+    private final LinkedHashMap<Long, Feed> feeds;
+    private final ArrayDeque<Long> changedJobIds = new ArrayDeque<>();
+    private long jobChanges;
+    // Bumped by invalidate(workerId), per stripe of worker ids
+    private final long[] workerVersions = new long[VERSION_STRIPES];
+    // Bumped by rebuild() and invalidateUser(), which can touch any worker
+    private long epoch;
+
+    public WorkerFeedService(JobRepository jobRepository,
+            WorkerRepository workerRepository,
+            @Value("${feed.cache.max-workers:10000}") int maxWorkers,
+            @Value("${feed.max-items:200}") int maxItems) {
+        this.jobRepository = jobRepository;
+        this.workerRepository = workerRepository;
+        this.maxItems = maxItems;
+        this.feeds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Feed> eldest) {
+                return size() > maxWorkers;
+            }
+        };
+    }
+
+    // ── Open-job table ───────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, OpenJob> fresh = new HashMap<>();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = jobRepository.findOpenJobFeatures(afterId, Limit.of(REBUILD_CHUNK));
+            for (Object[] r : rows) {
+                afterId = (Long) r[0];
+                fresh.put(afterId, new OpenJob(afterId, (long[]) r[1], (Double) r[2],
+                        WorkerMatchingEngine.city((String) r[3])));
+            }
+        } while (rows.size() == REBUILD_CHUNK);
+
+        lock.lock();
+        try {
+            openJobs.clear();
+            openJobs.putAll(fresh);
+            feeds.clear();
+            epoch++;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Worker feed table built with {} open jobs", fresh.size());
+    }
+
+    /** A job was created or changed status: add it to or drop it from every cached feed. */
+    public void onJobSaved(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+        boolean open = "OPEN".equalsIgnoreCase(job.getStatus());
+        OpenJob features = open
+                ? new OpenJob(job.getId(), job.getSkillMask(), job.getPayRate(),
+                        WorkerMatchingEngine.city(job.getLocation()))
+                : null;
+
+        lock.lock();
+        try {
+            if (open) {
+                openJobs.put(job.getId(), features);
+                for (Feed feed : feeds.values()) {
+                    feed.remove(job.getId());
+                    feed.offer(features, maxItems);
+                }
+            } else if (openJobs.remove(job.getId()) != null) {
+                for (Feed feed : feeds.values()) {
+                    feed.remove(job.getId());
+                }
+            }
+            jobChanges++;
+            changedJobIds.addLast(job.getId());
+            if (changedJobIds.size() > CHANGE_LOG_SIZE) {
+                changedJobIds.removeFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The worker's skills, rate or location changed; recompute on next read. */
+    public void invalidate(Long workerId) {
+        lock.lock();
+        try {
+            feeds.remove(workerId);
+            workerVersions[stripe(workerId)]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateUser(Long userId) {
+        lock.lock();
+        try {
+            feeds.values().removeIf(feed -> userId.equals(feed.profile.userId()));
+            epoch++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Serving ──────────────────────────────────────────────────────────────
+
+    public Optional<Page<JobListingDTO>> getFeed(Long workerId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, 100)));
+
+        List<Long> ids = new ArrayList<>();
+        int total = 0;
+        Snapshot snapshot = null;
+        lock.lock();
+        try {
+            Feed feed = feeds.get(workerId);
+            // A full feed that lost entries to closed jobs may be missing lower-ranked ones
+            if (feed != null && !(feed.truncated && feed.entries.size() < maxItems)) {
+                total = slice(feed, pageRequest, ids);
+            } else {
+                snapshot = new Snapshot(List.copyOf(openJobs.values()), jobChanges, epoch,
+                        workerVersions[stripe(workerId)]);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (snapshot != null) {
+            Optional<Profile> profile = workerRepository.findById(workerId)
+                    .map(WorkerFeedService::profileOf);
+            if (profile.isEmpty()) {
+                return Optional.empty();
+            }
+            // Scoring every open job happens without the lock
+            Feed feed = new Feed(profile.get());
+            for (OpenJob job : snapshot.jobs()) {
+                feed.offer(job, maxItems);
+            }
+            lock.lock();
+            try {
+                if (catchUp(workerId, feed, snapshot)) {
+                    feeds.put(workerId, feed);
+                }
+                total = slice(feed, pageRequest, ids);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<Long, JobListingDTO> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (JobListingDTO job : jobRepository.findListingsByIdIn(ids)) {
+                byId.put(job.getId(), job);
+            }
+        }
+        List<JobListingDTO> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            JobListingDTO job = byId.get(id);
+            if (job != null) {
+                content.add(job);
+            }
+        }
+        return Optional.of(new PageImpl<>(content, pageRequest, total));
+    }
+
+    // Caller holds the lock; adds the page's job ids and returns the feed size
+    private static int slice(Feed feed, PageRequest pageRequest, List<Long> ids) {
+        int total = feed.entries.size();
+        int from = (int) Math.min(pageRequest.getOffset(), total);
+        int to = Math.min(from + pageRequest.getPageSize(), total);
+        for (Entry e : feed.entries.subList(from, to)) {
+            ids.add(e.jobId());
+        }
+        return total;
+    }
+
+    /**
+     * Caller holds the lock. Replays the job changes made since the snapshot
+     * onto the feed; false when it must not be cached (the worker was
+     * invalidated, or too many jobs changed to replay).
+     */
+    private boolean catchUp(Long workerId, Feed feed, Snapshot snapshot) {
+        if (epoch != snapshot.epoch()
+                || workerVersions[stripe(workerId)] != snapshot.workerVersion()) {
+            return false;
+        }
+        long missed = jobChanges - snapshot.jobChanges();
+        if (missed > changedJobIds.size()) {
+            return false;
+        }
+        List<Long> replay = new ArrayList<>((int) missed);
+        Iterator<Long> newestFirst = changedJobIds.descendingIterator();
+        for (long i = 0; i < missed; i++) {
+            replay.add(newestFirst.next());
+        }
+        for (int i = replay.size() - 1; i >= 0; i--) {
+            long jobId = replay.get(i);
+            feed.remove(jobId);
+            OpenJob job = openJobs.get(jobId);
+            if (job != null) {
+                feed.offer(job, maxItems);
+            }
+        }
+        return true;
+    }
+
+    private static int stripe(Long workerId) {
+        return Math.floorMod(Long.hashCode(workerId), VERSION_STRIPES);
+    }
+
+    private static Profile profileOf(Worker worker) {
+        return new Profile(
+                worker.getUser() != null ? worker.getUser().getId() : null,
+                worker.getSkillMask(),
+                SkillDictionary.count(worker.getSkillMask()),
+                worker.getHourlyRate(),
+                WorkerMatchingEngine.city(worker.getUser() != null
+                        ? worker.getUser().getLocation() : null));
+    }
+
+    /** Feed score, or a negative value when the job should not be recommended. */
+    private static double score(Profile worker, OpenJob job) {
+        int matched = SkillDictionary.overlap(worker.skillMask(), job.skillMask());
+        boolean sameCity = worker.city() != null && worker.city().equals(job.city());
+        if (matched == 0 && !(worker.skillCount() == 0 && sameCity)) {
+            return -1;
+        }
+
+        int required = SkillDictionary.count(job.skillMask());
+        double skill = required == 0 ? 0.5 : (double) matched / required;
+        double pay = worker.hourlyRate() == null || worker.hourlyRate() <= 0 || job.payRate() == null
+                ? 0.5
+                : Math.min(1.0, job.payRate() / worker.hourlyRate());
+        return 0.5 * skill + (sameCity ? 0.3 : 0.0) + 0.2 * pay;
+    }
+
+    // ── Types ────────────────────────────────────────────────────────────────
+
+    private record OpenJob(long id, long[] skillMask, Double payRate, String city) {}
+
+    private record Profile(Long userId, long[] skillMask, int skillCount,
+                           Double hourlyRate, String city) {}
+
+    private record Entry(long jobId, double score) {}
+
+    private record Snapshot(List<OpenJob> jobs, long jobChanges, long epoch, long workerVersion) {}
+
+    /** One worker's ranked job ids, best first; ties go to the newer job. */
+    private static final class Feed {
+
+        final Profile profile;
+        final List<Entry> entries = new ArrayList<>();
+        // Set once an entry has been dropped for being below the cutoff
+        boolean truncated;
+
+        Feed(Profile profile) {
+            this.profile = profile;
+        }
+
+        void offer(OpenJob job, int maxItems) {
+            double score = score(profile, job);
+            if (score < 0) {
+                return;
+            }
+            int lo = 0;
+            int hi = entries.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                Entry e = entries.get(mid);
+                boolean before = e.score() > score || (e.score() == score && e.jobId() > job.id());
+                if (before) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            if (lo >= maxItems) {
+                truncated = true;
+                return;
+            }
+            entries.add(lo, new Entry(job.id(), score));
+            if (entries.size() > maxItems) {
+                entries.remove(entries.size() - 1);
+                truncated = true;
+            }
+        }
+
+        void remove(long jobId) {
+            for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+                if (it.next().jobId() == jobId) {
+                    it.remove();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.CandidateDTO;
+import com.example.demo.entity.Job;
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks workers for a job from an in-memory feature table: one row per
+ * worker held in parallel primitive arrays (skill bitset, hourly rate,
+ * experience, availability, interned city), so scoring a pool is a tight
+ * loop with no entity loading. A bounded min-heap keeps the best K rows;
+ * in parallel mode each slice of the table keeps its own heap and the
+ * heaps are merged.
+ *
+ * Component scores, each in [0, 1]:
+ * skill         matched / required skills (workers with no match are skipped)
+ * rate          1 at or below the job's pay rate, falling linearly to 0 at 2x
+ * experience    years / 10, capped at 1
+ * availability  full-time 1, flexible .9, part-time .6, weekends .4, unknown .5
+ * location      1 when the city (text before the first comma) matches
+ */
+@Service
+public class WorkerMatchingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerMatchingEngine.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 200;
+
+    private static final int NO_CITY = -1;
+
+    private final WorkerRepository workerRepository;
+    private final SkillDictionary skillDictionary;
+    private final Weights defaultWeights;
+    private final int parallelThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Table table = new Table(0);
+    private final Map<String, Integer> cities = new HashMap<>();
+    // Updates that arrive while a rebuild runs, replayed onto the new table
+    private List<Consumer<Table>> replay;
+
+    public WorkerMatchingEngine(WorkerRepository workerRepository,
+            SkillDictionary skillDictionary,
+            @Value("${matching.weight.skill:0.40}") double skillWeight,
+            @Value("${matching.weight.rate:0.20}") double rateWeight,
+            @Value("${matching.weight.experience:0.15}") double experienceWeight,
+            @Value("${matching.weight.availability:0.10}") double availabilityWeight,
+            @Value("${matching.weight.location:0.15}") double locationWeight,
+            @Value("${matching.parallel-threshold:50000}") int parallelThreshold) {
+        this.workerRepository = workerRepository;
+        this.skillDictionary = skillDictionary;
+        this.defaultWeights = new Weights(skillWeight, rateWeight, experienceWeight,
+                availabilityWeight, locationWeight);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public Weights defaultWeights() {
+        return defaultWeights;
+    }
+
+    // ── Feature table maintenance ────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> rows;
+        try {
+            rows = workerRepository.findMatchingFeatures();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Table fresh = new Table(rows.size());
+            for (Object[] r : rows) {
+                fresh.put((Long) r[0], (Long) r[1], (long[]) r[2], (Double) r[3],
+                        (Integer) r[4], (String) r[5], cityId((String) r[6]));
+            }
+            for (Consumer<Table> change : replay) {
+                change.accept(fresh);
+            }
+            table = fresh;
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Worker matching table built with {} workers", rows.size());
+    }
+
+    /** Refresh one worker's features after it is created or edited. */
+    public void update(Worker worker) {
+        if (worker.getId() == null) {
+            return;
+        }
+        Long workerId = worker.getId();
+        long[] mask = worker.getSkillMask() != null
+                ? worker.getSkillMask()
+                : skillDictionary.toMask(worker.getSkills());
+        Long userId = worker.getUser() != null ? worker.getUser().getId() : null;
+        String location = worker.getUser() != null ? worker.getUser().getLocation() : null;
+        Double hourlyRate = worker.getHourlyRate();
+        Integer experience = worker.getExperience();
+        String availability = worker.getAvailability();
+
+        apply(t -> t.put(workerId, userId, mask, hourlyRate, experience, availability,
+                cityId(location)));
+    }
+
+    /** A user's location changed; re-key the city of their worker row, if any. */
+    public void updateLocation(Long userId, String location) {
+        apply(t -> {
+            Integer row = t.rowOfUser.get(userId);
+            if (row != null) {
+                t.city[row] = cityId(location);
+            }
+        });
+    }
+
+    public void remove(Long workerId) {
+        apply(t -> t.remove(workerId));
+    }
+
+    private void apply(Consumer<Table> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(table);
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private int cityId(String location) {
+        String city = city(location);
+        return city == null ? NO_CITY : cities.computeIfAbsent(city, c -> cities.size());
+    }
+
+    /** City part of a free-form location: text before the first comma, lower case. */
+    static String city(String location) {
+        if (location == null) {
+            return null;
+        }
+        int comma = location.indexOf(',');
+        String city = (comma >= 0 ? location.substring(0, comma) : location)
+                .trim().toLowerCase(Locale.ROOT);
+        return city.isEmpty() ? null : city;
+    }
+
+    // ── Ranking ──────────────────────────────────────────────────────────────
+
+    public List<CandidateDTO> rank(Job job, Weights weights, Integer limit, Boolean parallel) {
+        int k = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        long[] jobMask = job.getSkillMask() != null
+                ? job.getSkillMask()
+                : skillDictionary.toMask(job.getSkillsRequired());
+        Query query = new Query(jobMask, SkillDictionary.count(jobMask), job.getPayRate(),
+                weights.normalized());
+
+        List<Scored> top;
+        lock.readLock().lock();
+        try {
+            Integer jobCity = cities.get(city(job.getLocation()));
+            int city = jobCity != null ? jobCity : NO_CITY;
+            boolean hasCity = job.getLocation() != null && city(job.getLocation()) != null;
+            boolean runParallel = parallel != null ? parallel : table.size >= parallelThreshold;
+
+            TopK heap;
+            if (runParallel && table.size > 1) {
+                int slices = Math.min(Runtime.getRuntime().availableProcessors() * 2, table.size);
+                int per = (table.size + slices - 1) / slices;
+                Table t = table;
+                heap = IntStream.range(0, slices).parallel()
+                        .mapToObj(s -> {
+                            TopK local = new TopK(k);
+                            score(t, query, city, hasCity, s * per,
+                                    Math.min(t.size, (s + 1) * per), local);
+                            return local;
+                        })
+                        .reduce(TopK::merge)
+                        .orElseGet(() -> new TopK(k));
+            } else {
+                heap = new TopK(k);
+                score(table, query, city, hasCity, 0, table.size, heap);
+            }
+            top = heap.drainDescending(table, query, city, hasCity);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return toCandidates(top, jobMask);
+    }
+
+    private static void score(Table t, Query q, int jobCity, boolean hasCity,
+            int from, int to, TopK heap) {
+        for (int row = from; row < to; row++) {
+            int matched = SkillDictionary.overlap(t.skills[row], q.mask);
+            if (q.required > 0 && matched == 0) {
+                continue;
+            }
+            float s = (float) (q.w.skill() * skillScore(matched, q.required)
+                    + q.w.rate() * rateScore(t.rate[row], q.payRate)
+                    + q.w.experience() * experienceScore(t.experience[row])
+                    + q.w.availability() * t.availability[row]
+                    + q.w.location() * locationScore(t.city[row], jobCity, hasCity));
+            heap.offer(row, s);
+        }
+    }
+
+    private static double skillScore(int matched, int required) {
+        return required == 0 ? 0.5 : (double) matched / required;
+    }
+
+    private static double rateScore(float hourlyRate, Double payRate) {
+        if (Float.isNaN(hourlyRate) || payRate == null || payRate <= 0) {
+            return 0.5;
+        }
+        if (hourlyRate <= payRate) {
+            return 1.0;
+        }
+        return Math.max(0.0, 1.0 - (hourlyRate - payRate) / payRate);
+    }
+
+    private static double experienceScore(int years) {
+        return years < 0 ? 0.0 : Math.min(years, 10) / 10.0;
+    }
+
+    private static double locationScore(int workerCity, int jobCity, boolean hasCity) {
+        if (!hasCity) {
+            return 0.5;
+        }
+        return workerCity != NO_CITY && workerCity == jobCity ? 1.0 : 0.0;
+    }
+
+    private static float availabilityScore(String availability) {
+        if (availability == null) {
+            return 0.5f;
+        }
+        return switch (availability.trim().toLowerCase(Locale.ROOT)) {
+            case "full-time" -> 1.0f;
+            case "flexible" -> 0.9f;
+            case "part-time" -> 0.6f;
+            case "weekends" -> 0.4f;
+            case "unavailable" -> 0.0f;
+            default -> 0.5f;
+        };
+    }
+
+    private List<CandidateDTO> toCandidates(List<Scored> top, long[] jobMask) {
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Object[]> display = new HashMap<>();
+        for (Object[] r : workerRepository.findDisplayFieldsByIdIn(
+                top.stream().map(Scored::workerId).toList())) {
+            display.put((Long) r[0], r);
+        }
+
+        List<CandidateDTO> result = new ArrayList<>(top.size());
+        for (Scored s : top) {
+            long[] matched = and(s.skills(), jobMask);
+            Object[] d = display.getOrDefault(s.workerId(), new Object[3]);
+            result.add(new CandidateDTO(s.workerId(), s.userId(), (String) d[1],
+                    (String) d[2], s.hourlyRate(), s.experience(), s.availability(),
+                    skillDictionary.labels(matched), s.score(), s.skillScore(),
+                    s.rateScore(), s.experienceScore(), s.availabilityScore(),
+                    s.locationScore()));
+        }
+        return result;
+    }
+
+    private static long[] and(long[] a, long[] b) {
+        if (a == null || b == null) {
+            return new long[0];
+        }
+        long[] r = new long[Math.min(a.length, b.length)];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = a[i] & b[i];
+        }
+        return r;
+    }
+
+    // ── Types ────────────────────────────────────────────────────────────────
+
+    /** Relative component weights; they are normalized to sum to 1. */
+    public record Weights(double skill, double rate, double experience,
+                          double availability, double location) {
+
+        public Weights override(Double skill, Double rate, Double experience,
+                Double availability, Double location) {
+            return new Weights(
+                    skill != null ? skill : this.skill,
+                    rate != null ? rate : this.rate,
+                    experience != null ? experience : this.experience,
+                    availability != null ? availability : this.availability,
+                    location != null ? location : this.location);
+        }
+
+        Weights normalized() {
+            double sum = Math.max(0, skill) + Math.max(0, rate) + Math.max(0, experience)
+                    + Math.max(0, availability) + Math.max(0, location);
+            if (sum <= 0) {
+                return new Weights(0.2, 0.2, 0.2, 0.2, 0.2);
+            }
+            return new Weights(Math.max(0, skill) / sum, Math.max(0, rate) / sum,
+                    Math.max(0, experience) / sum, Math.max(0, availability) / sum,
+                    Math.max(0, location) / sum);
+        }
+    }
+
+    private record Query(long[] mask, int required, Double payRate, Weights w) {}
+
+    private record Scored(Long workerId, Long userId, long[] skills,
+                          Double hourlyRate, Integer experience, String availability,
+                          double score, double skillScore, double rateScore,
+                          double experienceScore, double availabilityScore,
+                          double locationScore) {}
+
+    /** Worker features in parallel arrays; rows are swap-removed. Guarded by lock. */
+    private static final class Table {
+
+        long[] workerIds;
+        long[] userIds;
+        long[][] skills;
+        float[] rate;
+        int[] experience;
+        float[] availability;
+        String[] availabilityText;
+        int[] city;
+        int size;
+        final Map<Long, Integer> rowOf = new HashMap<>();
+        final Map<Long, Integer> rowOfUser = new HashMap<>();
+
+        Table(int capacity) {
+            int n = Math.max(16, capacity);
+            workerIds = new long[n];
+            userIds = new long[n];
+            skills = new long[n][];
+            rate = new float[n];
+            experience = new int[n];
+            availability = new float[n];
+            availabilityText = new String[n];
+            city = new int[n];
+        }
+
+        void put(Long workerId, Long userId, long[] mask, Double hourlyRate,
+                Integer years, String avail, int cityId) {
+            Integer row = rowOf.get(workerId);
+            if (row == null) {
+                if (size == workerIds.length) {
+                    grow();
+                }
+                row = size++;
+                rowOf.put(workerId, row);
+            } else if (userIds[row] != 0) {
+                rowOfUser.remove(userIds[row]);
+            }
+            workerIds[row] = workerId;
+            userIds[row] = userId != null ? userId : 0;
+            if (userId != null) {
+                rowOfUser.put(userId, row);
+            }
+            skills[row] = mask != null ? mask : new long[0];
+            rate[row] = hourlyRate != null ? hourlyRate.floatValue() : Float.NaN;
+            experience[row] = years != null ? years : -1;
+            availability[row] = availabilityScore(avail);
+            availabilityText[row] = avail;
+            city[row] = cityId;
+        }
+
+        void remove(Long workerId) {
+            Integer row = rowOf.remove(workerId);
+            if (row == null) {
+                return;
+            }
+            rowOfUser.remove(userIds[row]);
+            int last = --size;
+            if (row != last) {
+                workerIds[row] = workerIds[last];
+                userIds[row] = userIds[last];
+                skills[row] = skills[last];
+                rate[row] = rate[last];
+                experience[row] = experience[last];
+                availability[row] = availability[last];
+                availabilityText[row] = availabilityText[last];
+                city[row] = city[last];
+                rowOf.put(workerIds[row], row);
+                if (userIds[row] != 0) {
+                    rowOfUser.put(userIds[row], row);
+                }
+            }
+            skills[last] = null;
+            availabilityText[last] = null;
+        }
+
+        private void grow() {
+            int n = workerIds.length * 2;
+            workerIds = Arrays.copyOf(workerIds, n);
+            userIds = Arrays.copyOf(userIds, n);
+            skills = Arrays.copyOf(skills, n);
+            rate = Arrays.copyOf(rate, n);
+            experience = Arrays.copyOf(experience, n);
+            availability = Arrays.copyOf(availability, n);
+            availabilityText = Arrays.copyOf(availabilityText, n);
+            city = Arrays.copyOf(city, n);
+        }
+    }
+
+    /** Bounded min-heap of (row, score) on primitive arrays. */
+    private static final class TopK {
+
+        final int k;
+        final int[] rows;
+        final float[] scores;
+        int size;
+
+        TopK(int k) {
+            this.k = k;
+            this.rows = new int[k];
+            this.scores = new float[k];
+        }
+
+        void offer(int row, float score) {
+            if (size < k) {
+                rows[size] = row;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                rows[0] = row;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.rows[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        // Caller holds the read lock, so rows still point at the same workers
+        List<Scored> drainDescending(Table t, Query q, int jobCity, boolean hasCity) {
+            Scored[] out = new Scored[size];
+            for (int i = size - 1; i >= 0; i--) {
+                int row = rows[0];
+                float score = scores[0];
+                rows[0] = rows[size - 1];
+                scores[0] = scores[size - 1];
+                size--;
+                siftDown(0);
+
+                int matched = SkillDictionary.overlap(t.skills[row], q.mask);
+                out[i] = new Scored(t.workerIds[row], t.userIds[row] != 0 ? t.userIds[row] : null,
+                        t.skills[row],
+                        Float.isNaN(t.rate[row]) ? null : (double) t.rate[row],
+                        t.experience[row] >= 0 ? t.experience[row] : null,
+                        t.availabilityText[row], score,
+                        skillScore(matched, q.required), rateScore(t.rate[row], q.payRate),
+                        experienceScore(t.experience[row]), t.availability[row],
+                        locationScore(t.city[row], jobCity, hasCity));
+            }
+            return Arrays.asList(out);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int r = rows[a];
+            rows[a] = rows[b];
+            rows[b] = r;
+            float s = scores[a];
+            scores[a] = scores[b];
+            scores[b] = s;
+        }
+    }
+}
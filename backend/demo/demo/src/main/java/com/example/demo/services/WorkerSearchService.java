@@ -0,0 +1,161 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.WorkerPageDTO;
+import com.example.demo.dto.WorkerSearchFilter;
+import com.example.demo.dto.WorkerSummaryDTO;
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class WorkerSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int BACKFILL_CHUNK = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerSearchService.class);
+
+    private final WorkerRepository workerRepository;
+    private final WorkerSkillIndex skillIndex;
+    private final SkillDictionary skillDictionary;
+    private final TransactionTemplate transactionTemplate;
+
+    public WorkerSearchService(WorkerRepository workerRepository,
+            WorkerSkillIndex skillIndex,
+            SkillDictionary skillDictionary,
+            PlatformTransactionManager transactionManager) {
+        this.workerRepository = workerRepository;
+        this.skillIndex = skillIndex;
+        this.skillDictionary = skillDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ── One keyset page of workers ───────────────────────────────────────────
+    @Transactional(readOnly = true)
+    public WorkerPageDTO search(WorkerSearchFilter filter, WorkerSearchFilter.Sort sort,
+            Double cursorValue, Long cursorId, Integer limit) {
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page exists
+        List<WorkerSummaryDTO> rows = fromSkillIndex(filter, sort, cursorId, size + 1)
+                .orElseGet(() -> workerRepository.search(filter, sort, cursorValue, cursorId, size + 1));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        WorkerSummaryDTO last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return new WorkerPageDTO(rows,
+                last != null ? sortValue(last, sort) : cursorValue,
+                last != null ? last.getId() : cursorId,
+                hasMore);
+    }
+
+    /** "availability + skills" in id order is answered from memory; anything else goes to SQL. */
+    private Optional<List<WorkerSummaryDTO>> fromSkillIndex(WorkerSearchFilter filter,
+            WorkerSearchFilter.Sort sort, Long cursorId, int limit) {
+        boolean hotShape = sort == WorkerSearchFilter.Sort.ID
+                && StringUtils.hasText(filter.getAvailability())
+                && filter.getSkills() != null && !filter.getSkills().isEmpty()
+                && !StringUtils.hasText(filter.getCertification())
+                && filter.getMinRate() == null && filter.getMaxRate() == null
+                && filter.getMinExperience() == null
+                && !StringUtils.hasText(filter.getLocation());
+        if (!hotShape) {
+            return Optional.empty();
+        }
+
+        List<Integer> skillIds = new ArrayList<>();
+        for (String skill : filter.getSkills()) {
+            if (StringUtils.hasText(skill)) {
+                Integer id = skillDictionary.find(skill);
+                if (id == null) {
+                    return Optional.empty(); // not in the dictionary; let SQL decide
+                }
+                skillIds.add(id);
+            }
+        }
+        if (skillIds.isEmpty()) {
+            return Optional.empty();
+        }
+        return skillIndex.find(filter.getAvailability(), skillIds, filter.isMatchAllSkills(),
+                        cursorId, limit)
+                .map(ids -> ids.isEmpty() ? List.of() : workerRepository.findSummariesByIdIn(ids));
+    }
+
+    private static Double sortValue(WorkerSummaryDTO worker, WorkerSearchFilter.Sort sort) {
+        return switch (sort) {
+            case ID -> null;
+            case RATE_ASC, RATE_DESC -> worker.getHourlyRate();
+            case EXPERIENCE_DESC -> worker.getExperience() != null
+                    ? worker.getExperience().doubleValue() : null;
+        };
+    }
+
+    // ── Expression indexes behind the case-insensitive skill filters ────────
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createSearchIndexes() {
+        workerRepository.createSkillSearchIndex();
+        workerRepository.createCertificationSearchIndex();
+        log.info("Worker skill and certification search indexes ensured");
+    }
+
+    // pg_trgm may not be installable (no privilege); the location filter then scans
+    @EventListener(ApplicationReadyEvent.class)
+    public void createLocationSearchIndex() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                workerRepository.createTrigramExtension();
+                workerRepository.createLocationSearchIndex();
+            });
+            log.info("Worker location search index ensured");
+        } catch (DataAccessException e) {
+            log.warn("Worker location trigram index not created; the location filter "
+                    + "will scan: {}", e.getMessage());
+        }
+    }
+
+    // ── Tidy skills stored before they were normalized on write ─────────────
+    // SQL compares lower(skill) with SkillDictionary.normalize, so stored
+    // values must already be trimmed with single spaces, as new writes are
+    @EventListener(ApplicationReadyEvent.class)
+    public void tidyStoredSkills() {
+        int total = 0;
+        long after = 0;
+        while (true) {
+            List<Long> ids = workerRepository.findIdsWithUntidySkills(after, BACKFILL_CHUNK);
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Worker worker : workerRepository.findAllById(ids)) {
+                    worker.setSkills(SkillDictionary.tidy(worker.getSkills()));
+                    worker.setCertifications(SkillDictionary.tidy(worker.getCertifications()));
+                }
+            });
+            total += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        if (total > 0) {
+            log.info("Tidied stored skills and certifications on {} workers", total);
+        }
+    }
+}
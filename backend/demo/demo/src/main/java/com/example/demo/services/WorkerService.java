@@ -7,17 +7,39 @@ import com.example.demo.repository.UserRepository;
 import com.example.demo.repository.WorkerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
 
 @Service
 public class WorkerService {
 
     private final UserRepository userRepository;
     private final WorkerRepository workerRepository;
+    private final SkillDictionary skillDictionary;
+    private final WorkerMatchingEngine matchingEngine;
+    private final WorkerFeedService workerFeedService;
+    private final GeoSearchService geoSearchService;
+    private final WorkerSkillIndex workerSkillIndex;
+    private final PhotoStore photoStore;
 
     public WorkerService(UserRepository userRepository,
-            WorkerRepository workerRepository) {
+            WorkerRepository workerRepository,
+            SkillDictionary skillDictionary,
+            WorkerMatchingEngine matchingEngine,
+            WorkerFeedService workerFeedService,
+            GeoSearchService geoSearchService,
+            WorkerSkillIndex workerSkillIndex,
+            PhotoStore photoStore) {
         this.userRepository = userRepository;
         this.workerRepository = workerRepository;
+        this.skillDictionary = skillDictionary;
+        this.matchingEngine = matchingEngine;
+        this.workerFeedService = workerFeedService;
+        this.geoSearchService = geoSearchService;
+        this.workerSkillIndex = workerSkillIndex;
+        this.photoStore = photoStore;
     }
 
     @Transactional
@@ -39,14 +61,16 @@ public class WorkerService {
         if (dto.getPhone() != null)
             user.setPhone(dto.getPhone());
 
-        if (dto.getLocation() != null)
+        if (dto.getLocation() != null) {
             user.setLocation(dto.getLocation());
+            geoSearchService.locate(user);
+        }
 
         if (dto.getBio() != null)
             user.setBio(dto.getBio());
 
         if (dto.getProfilePhoto() != null)
-            user.setProfilePhoto(dto.getProfilePhoto());
+            user.setProfilePhoto(photoStore.toPhotoUrl(dto.getProfilePhoto()));
 
         if (dto.getHourlyRate() != null)
             worker.setHourlyRate(dto.getHourlyRate());
@@ -57,13 +81,35 @@ public class WorkerService {
         if (dto.getAvailability() != null)
             worker.setAvailability(dto.getAvailability());
 
-        if (dto.getSkills() != null)
-            worker.setSkills(dto.getSkills());
+        if (dto.getSkills() != null) {
+            worker.setSkills(SkillDictionary.tidy(dto.getSkills()));
+            worker.setSkillMask(skillDictionary.toMask(dto.getSkills()));
+        }
 
         if (dto.getCertifications() != null)
-            worker.setCertifications(dto.getCertifications());
+            worker.setCertifications(SkillDictionary.tidy(dto.getCertifications()));
+
+        // 🔹 In-memory indexes follow only once the change has committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reindex(worker);
+                }
+            });
+        } else {
+            reindex(worker);
+        }
+    }
+
+    private void reindex(Worker worker) {
+        matchingEngine.update(worker);
+        workerSkillIndex.update(worker);
+        workerFeedService.invalidate(worker.getId());
+        geoSearchService.onWorkerSaved(worker);
     }
 
+    @Transactional(readOnly = true)
     public WorkerProfileUpdateDTO getProfile(String email) {
         User user = userRepository.findFirstByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -86,8 +132,10 @@ public class WorkerService {
             dto.setHourlyRate(worker.getHourlyRate());
             dto.setExperience(worker.getExperience());
             dto.setAvailability(worker.getAvailability());
-            dto.setSkills(worker.getSkills());
-            dto.setCertifications(worker.getCertifications());
+            if (worker.getSkills() != null)
+                dto.setSkills(new ArrayList<>(worker.getSkills()));
+            if (worker.getCertifications() != null)
+                dto.setCertifications(new ArrayList<>(worker.getCertifications()));
         }
 
         return dto;
@@ -0,0 +1,261 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory filter index for the hot worker-search shape "availability X
+ * and skill Y": per availability value, a sorted set of worker ids for each
+ * skill id. Answers that shape in id order without touching the database
+ * until the page's summary rows are loaded.
+ *
+ * Optional (workers.search.skill-index.enabled); until the startup build
+ * finishes, {@link #find} returns empty and callers fall back to SQL.
+ */
+@Service
+public class WorkerSkillIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerSkillIndex.class);
+
+    private final WorkerRepository workerRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index;
+    // Updates that arrive while a rebuild runs, replayed onto the new index
+    private List<Update> replay;
+
+    public WorkerSkillIndex(WorkerRepository workerRepository,
+            @Value("${workers.search.skill-index.enabled:true}") boolean enabled) {
+        this.workerRepository = workerRepository;
+        this.enabled = enabled;
+    }
+
+    // ── Build ────────────────────────────────────────────────────────────────
+
+    // Runs after the skill bitset backfill (SkillDictionary is HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try {
+            for (Object[] r : workerRepository.findMatchingFeatures()) {
+                fresh.apply(new Update((Long) r[0], key((String) r[5]), (long[]) r[2]));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Worker skill index rebuild failed; searches will use SQL", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Update u : replay) {
+                fresh.apply(u);
+            }
+            index = fresh;
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Worker skill index built with {} workers", fresh.rows.size());
+    }
+
+    // ── Incremental updates ──────────────────────────────────────────────────
+
+    /** Re-index a worker after its skills or availability change. */
+    public void update(Worker worker) {
+        if (!enabled || worker.getId() == null) {
+            return;
+        }
+        apply(new Update(worker.getId(), key(worker.getAvailability()), worker.getSkillMask()));
+    }
+
+    public void remove(Long workerId) {
+        if (enabled) {
+            apply(new Update(workerId, null, null));
+        }
+    }
+
+    private void apply(Update u) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.apply(u);
+            }
+            if (replay != null) {
+                replay.add(u);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Query ────────────────────────────────────────────────────────────────
+
+    /**
+     * Ids (ascending, greater than afterId) of workers with the availability
+     * and all / any of the skill ids; empty when the index is not available.
+     * A null entry in skillIds is a skill nobody has.
+     */
+    public Optional<List<Long>> find(String availability, List<Integer> skillIds,
+            boolean matchAll, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            Map<Integer, TreeSet<Long>> bySkill = index.postings.get(key(availability));
+            List<TreeSet<Long>> lists = new ArrayList<>();
+            for (Integer skillId : skillIds) {
+                TreeSet<Long> ids = skillId == null || bySkill == null ? null : bySkill.get(skillId);
+                if (ids == null) {
+                    if (matchAll) {
+                        return Optional.of(List.of());
+                    }
+                    continue;
+                }
+                lists.add(ids);
+            }
+            return Optional.of(matchAll
+                    ? intersect(lists, afterId, limit)
+                    : union(lists, afterId, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Walk the smallest list, probing the others
+    private static List<Long> intersect(List<TreeSet<Long>> lists, Long afterId, int limit) {
+        List<Long> result = new ArrayList<>();
+        if (lists.isEmpty()) {
+            return result;
+        }
+        TreeSet<Long> smallest = lists.get(0);
+        for (TreeSet<Long> list : lists) {
+            if (list.size() < smallest.size()) {
+                smallest = list;
+            }
+        }
+        outer:
+        for (Long id : after(smallest, afterId)) {
+            for (TreeSet<Long> list : lists) {
+                if (list != smallest && !list.contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // The first `limit` ids of the union are among the first `limit` of each list
+    private static List<Long> union(List<TreeSet<Long>> lists, Long afterId, int limit) {
+        TreeSet<Long> merged = new TreeSet<>();
+        for (TreeSet<Long> list : lists) {
+            Iterator<Long> it = after(list, afterId).iterator();
+            for (int i = 0; i < limit && it.hasNext(); i++) {
+                merged.add(it.next());
+            }
+        }
+        List<Long> result = new ArrayList<>(Math.min(limit, merged.size()));
+        for (Long id : merged) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    private static NavigableSet<Long> after(TreeSet<Long> ids, Long afterId) {
+        return afterId == null ? ids : ids.tailSet(afterId, false);
+    }
+
+    static String key(String availability) {
+        return availability == null ? null : availability.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ── Types ────────────────────────────────────────────────────────────────
+
+    /** A worker's new state; null availability or mask removes it. */
+    private record Update(long workerId, String availability, long[] skillMask) {}
+
+    private record Row(String availability, long[] skillMask) {}
+
+    private static final class Index {
+
+        final Map<String, Map<Integer, TreeSet<Long>>> postings = new HashMap<>();
+        final Map<Long, Row> rows = new HashMap<>();
+
+        void apply(Update u) {
+            Row old = rows.remove(u.workerId());
+            if (old != null) {
+                Map<Integer, TreeSet<Long>> bySkill = postings.get(old.availability());
+                forEachSkill(old.skillMask(), skillId -> {
+                    TreeSet<Long> ids = bySkill.get(skillId);
+                    ids.remove(u.workerId());
+                    if (ids.isEmpty()) {
+                        bySkill.remove(skillId);
+                    }
+                });
+                if (bySkill.isEmpty()) {
+                    postings.remove(old.availability());
+                }
+            }
+            if (u.availability() == null || SkillDictionary.count(u.skillMask()) == 0) {
+                return;
+            }
+            rows.put(u.workerId(), new Row(u.availability(), u.skillMask().clone()));
+            Map<Integer, TreeSet<Long>> bySkill =
+                    postings.computeIfAbsent(u.availability(), k -> new HashMap<>());
+            forEachSkill(u.skillMask(),
+                    skillId -> bySkill.computeIfAbsent(skillId, k -> new TreeSet<>()).add(u.workerId()));
+        }
+
+        private static void forEachSkill(long[] mask, IntConsumer action) {
+            for (int word = 0; word < mask.length; word++) {
+                long bits = mask[word];
+                while (bits != 0) {
+                    action.accept(word * 64 + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+}
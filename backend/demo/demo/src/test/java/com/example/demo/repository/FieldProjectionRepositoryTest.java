@@ -0,0 +1,132 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Application;
+import com.example.demo.entity.Contractor;
+import com.example.demo.entity.Job;
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(FieldProjectionRepository.class)
+class FieldProjectionRepositoryTest {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    @Autowired
+    private FieldProjectionRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Contractor acme;
+    private Contractor bolt;
+    private Job acmeJob;
+    private Job boltJob;
+    private Job unownedJob;
+    private Application toAcme;
+    private Application toBolt;
+
+    @BeforeEach
+    void setUp() {
+        acme = contractor("Acme", user("Ann"));
+        bolt = contractor("Bolt", user("Bob"));
+        acmeJob = job("Plumber", acme);
+        boltJob = job("Welder", bolt);
+        unownedJob = job("Painter", null);
+        Worker worker = new Worker();
+        worker.setUser(user("Wes"));
+        worker.setHourlyRate(25.0);
+        entityManager.persist(worker);
+        toAcme = application(acmeJob, worker);
+        toBolt = application(boltJob, worker);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void contractorIdReadsTheForeignKeyWithoutDroppingUnownedJobs() {
+        List<Map<String, Object>> rows = repository.select(FieldSet.JOBS,
+                FieldSet.JOBS.parse("id,contractor.id,contractor.companyName"), Map.of(), BY_ID);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(Map.of("id", acmeJob.getId(),
+                "contractor", Map.of("id", acme.getId(), "companyName", "Acme")));
+        Map<String, Object> unowned = rows.get(2);
+        assertThat(unowned.get("id")).isEqualTo(unownedJob.getId());
+        assertThat(unowned.get("contractor")).asInstanceOf(MAP)
+                .containsEntry("id", null)
+                .containsEntry("companyName", null);
+    }
+
+    @Test
+    void filtersOnContractorIdAndNestsJoinedFields() {
+        List<Map<String, Object>> rows = repository.select(FieldSet.JOBS,
+                FieldSet.JOBS.parse("title,contractor.user.name"),
+                Map.of("contractor.id", bolt.getId()), BY_ID);
+
+        assertThat(rows).containsExactly(Map.of("title", "Welder",
+                "contractor", Map.of("user", Map.of("name", "Bob"))));
+    }
+
+    @Test
+    void filtersApplicationsOnTheJobsContractor() {
+        List<Map<String, Object>> rows = repository.select(FieldSet.APPLICATIONS,
+                FieldSet.APPLICATIONS.parse("id,job.title,worker.user.name,worker.hourlyRate"),
+                Map.of("job.contractor.id", acme.getId()),
+                Sort.by(Sort.Direction.DESC, "appliedAt", "id"));
+
+        assertThat(rows).containsExactly(Map.of(
+                "id", toAcme.getId(),
+                "job", Map.of("title", "Plumber"),
+                "worker", Map.of("user", Map.of("name", "Wes"), "hourlyRate", 25.0)));
+        assertThat(repository.select(FieldSet.APPLICATIONS, List.of("id"),
+                Map.of("job.contractor.id", bolt.getId()), BY_ID))
+                .containsExactly(Map.of("id", toBolt.getId()));
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Contractor contractor(String companyName, User user) {
+        Contractor contractor = new Contractor();
+        contractor.setCompanyName(companyName);
+        contractor.setUser(user);
+        entityManager.persist(contractor);
+        return contractor;
+    }
+
+    private Job job(String title, Contractor contractor) {
+        Job job = new Job();
+        job.setTitle(title);
+        job.setStatus("OPEN");
+        job.setContractor(contractor);
+        entityManager.persist(job);
+        return job;
+    }
+
+    private Application application(Job job, Worker worker) {
+        Application application = new Application();
+        application.setJob(job);
+        application.setWorker(worker);
+        entityManager.persist(application);
+        return application;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSetTest {
+
+    @Test
+    void keepsRequestOrderAndDropsRepeats() {
+        assertThat(FieldSet.JOBS.parse(" title, id ,,title,contractor.id"))
+                .containsExactly("title", "id", "contractor.id");
+    }
+
+    @Test
+    void prefixSelectsEveryFieldBelowIt() {
+        assertThat(FieldSet.APPLICATIONS.parse("id,worker.user"))
+                .startsWith("id", "worker.user.id", "worker.user.name")
+                .hasSize(1 + 10)
+                .allMatch(f -> f.equals("id") || f.startsWith("worker.user."));
+        assertThat(FieldSet.JOBS.parse("contractor.user.id")).containsExactly("contractor.user.id");
+    }
+
+    @Test
+    void rejectsUnknownHiddenAndEmptyFields() {
+        assertThatThrownBy(() -> FieldSet.JOBS.parse("id,salary"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'salary'");
+        // Not in the application JSON, which omits job.contractor
+        assertThatThrownBy(() -> FieldSet.APPLICATIONS.parse("job.contractor.id"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Collections and ignored columns are not selectable
+        assertThatThrownBy(() -> FieldSet.WORKERS.parse("skills"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldSet.JOBS.parse("skillMask"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // A prefix must end on a segment boundary
+        assertThatThrownBy(() -> FieldSet.JOBS.parse("contract"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldSet.USERS.parse(" , "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least one");
+    }
+}
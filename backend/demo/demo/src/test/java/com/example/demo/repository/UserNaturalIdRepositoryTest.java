@@ -0,0 +1,52 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserNaturalIdRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Legacy data: drop the unique key so two rows can share an email
+        List<String> uniqueKeys = jdbcTemplate.queryForList("""
+            SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+            WHERE TABLE_NAME = 'USERS' AND CONSTRAINT_TYPE = 'UNIQUE'
+        """, String.class);
+        for (String name : uniqueKeys) {
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT " + name);
+        }
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('First', 'shared@example.com')");
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Second', 'shared@example.com')");
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Only', 'only@example.com')");
+    }
+
+    @Test
+    void duplicateEmailResolvesToLowestId() {
+        User user = userRepository.findFirstByEmail("shared@example.com").orElseThrow();
+
+        assertThat(user.getName()).isEqualTo("First");
+    }
+
+    @Test
+    void uniqueEmailResolvesThroughNaturalId() {
+        assertThat(userRepository.findFirstByEmail("only@example.com"))
+                .map(User::getName)
+                .contains("Only");
+        assertThat(userRepository.findFirstByEmail("missing@example.com")).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class WorkerRepositoryQueryCountTest {
+
+    private static final int WORKERS = 40;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < WORKERS; i++) {
+            User user = new User();
+            user.setName("Worker " + i);
+            user.setEmail("worker" + i + "@example.com");
+            user.setLocation("Pune");
+            entityManager.persist(user);
+
+            Worker worker = new Worker();
+            worker.setUser(user);
+            worker.setSkills(Set.of("plumbing", "welding"));
+            worker.setCertifications(Set.of("safety-" + i));
+            worker.setAvailability("full-time");
+            entityManager.persist(worker);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingWorkersWithCollectionsUsesThreeStatements() {
+        var workers = workerRepository.findAll();
+
+        // What JSON serialization of the list touches
+        for (Worker worker : workers) {
+            assertThat(worker.getUser().getName()).isNotNull();
+            assertThat(worker.getSkills()).hasSize(2);
+            assertThat(worker.getCertifications()).hasSize(1);
+        }
+
+        assertThat(workers).hasSize(WORKERS);
+        // workers + users, then one batch each for skills and certifications
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void listingWorkerSummariesUsesOneStatement() {
+        var page = workerRepository.findSummaries(PageRequest.of(0, 100));
+
+        assertThat(page.getContent()).hasSize(WORKERS);
+        assertThat(page.getContent().get(0).getName()).isEqualTo("Worker 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.WorkerSearchFilter;
+import com.example.demo.dto.WorkerSummaryDTO;
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class WorkerSearchRepositoryTest {
+
+    private static final WorkerSearchFilter ALL =
+            new WorkerSearchFilter(null, false, null, null, null, null, null, null);
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Rates 30, null, 20, 30, null, 10 in insert order
+        Double[] rates = {30.0, null, 20.0, 30.0, null, 10.0};
+        for (int i = 0; i < rates.length; i++) {
+            ids.add(persist("Worker " + i, rates[i], Set.of(i % 2 == 0 ? "plumbing" : "welding")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rateAscendingPagesThroughTheNullTail() {
+        List<Long> expected = List.of(ids.get(5), ids.get(2), ids.get(0), ids.get(3), ids.get(1), ids.get(4));
+
+        assertThat(pageThrough(ALL, WorkerSearchFilter.Sort.RATE_ASC, 2)).isEqualTo(expected);
+        assertThat(pageThrough(ALL, WorkerSearchFilter.Sort.RATE_ASC, 1)).isEqualTo(expected);
+    }
+
+    @Test
+    void rateDescendingKeepsNullsLast() {
+        List<Long> expected = List.of(ids.get(3), ids.get(0), ids.get(2), ids.get(5), ids.get(4), ids.get(1));
+
+        assertThat(pageThrough(ALL, WorkerSearchFilter.Sort.RATE_DESC, 4)).isEqualTo(expected);
+        assertThat(pageThrough(ALL, WorkerSearchFilter.Sort.RATE_DESC, 1)).isEqualTo(expected);
+    }
+
+    @Test
+    void cursorInsideTheNullTailSkipsRatedRows() {
+        List<WorkerSummaryDTO> rows = workerRepository.search(ALL, WorkerSearchFilter.Sort.RATE_ASC,
+                null, ids.get(1), 10);
+
+        assertThat(rows).extracting(WorkerSummaryDTO::getId).containsExactly(ids.get(4));
+    }
+
+    @Test
+    void filtersApplyBeforeThePage() {
+        WorkerSearchFilter plumbing = new WorkerSearchFilter(List.of(" Plumbing "), true, null,
+                null, null, null, null, null);
+
+        assertThat(pageThrough(plumbing, WorkerSearchFilter.Sort.RATE_DESC, 1))
+                .containsExactly(ids.get(0), ids.get(2), ids.get(4));
+        assertThat(pageThrough(plumbing, WorkerSearchFilter.Sort.ID, 2))
+                .containsExactly(ids.get(0), ids.get(2), ids.get(4));
+    }
+
+    // Follows the (hourlyRate, id) cursor of each page's last row until a short page
+    private List<Long> pageThrough(WorkerSearchFilter filter, WorkerSearchFilter.Sort sort, int size) {
+        List<Long> seen = new ArrayList<>();
+        Double cursorValue = null;
+        Long cursorId = null;
+        List<WorkerSummaryDTO> page;
+        do {
+            page = workerRepository.search(filter, sort, cursorValue, cursorId, size);
+            for (WorkerSummaryDTO row : page) {
+                seen.add(row.getId());
+            }
+            if (!page.isEmpty()) {
+                WorkerSummaryDTO last = page.get(page.size() - 1);
+                cursorValue = last.getHourlyRate();
+                cursorId = last.getId();
+            }
+        } while (page.size() == size && seen.size() <= ids.size());
+        return seen;
+    }
+
+    private Long persist(String name, Double hourlyRate, Set<String> skills) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.replace(' ', '.') + "@example.com");
+        entityManager.persist(user);
+
+        Worker worker = new Worker();
+        worker.setUser(user);
+        worker.setHourlyRate(hourlyRate);
+        worker.setSkills(skills);
+        worker.setAvailability("full-time");
+        entityManager.persist(worker);
+        return worker.getId();
+    }
+}
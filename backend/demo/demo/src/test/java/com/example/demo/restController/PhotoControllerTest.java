@@ -0,0 +1,189 @@
+package com.example.demo.restController;
+
+import com.example.demo.services.PhotoStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PhotoControllerTest {
+
+    private static final String NAME = "ab".repeat(32) + ".png";
+    private static final String ETAG = "\"" + NAME + "\"";
+
+    @TempDir
+    Path dir;
+
+    private PhotoStore photoStore;
+    private PhotoController controller;
+    private byte[] bytes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bytes = new byte[100];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Path photo = Files.write(dir.resolve(NAME), bytes);
+        photoStore = mock(PhotoStore.class);
+        when(photoStore.resolve(anyString(), anyBoolean())).thenReturn(Optional.empty());
+        when(photoStore.resolve(eq(NAME), anyBoolean())).thenReturn(Optional.of(photo));
+        controller = new PhotoController(photoStore);
+    }
+
+    @Test
+    void servesTheWholeFileWithCachingHeaders() throws Exception {
+        MockHttpServletResponse response = serve(request());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void suffixRangeReturnsTheLastBytes() throws Exception {
+        assertPartial(range("bytes=-10"), 90, 99);
+        // Longer than the file: the whole file, still as a range
+        assertPartial(range("bytes=-500"), 0, 99);
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() throws Exception {
+        assertPartial(range("bytes=95-"), 95, 99);
+        assertPartial(range("bytes=10-1000"), 10, 99);
+        assertPartial(range("bytes=0-0"), 0, 0);
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() throws Exception {
+        for (String header : new String[] {"bytes=100-", "bytes=200-300", "bytes=-0"}) {
+            MockHttpServletResponse response = serve(range(header));
+
+            assertThat(response.getStatus()).as(header).isEqualTo(416);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    @Test
+    void malformedOrMultipleRangesSendTheWholeFile() throws Exception {
+        for (String header : new String[] {"bytes=0-1,5-6", "bytes=5-2", "items=0-1", "bytes=x-"}) {
+            MockHttpServletResponse response = serve(range(header));
+
+            assertThat(response.getStatus()).as(header).isEqualTo(200);
+            assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    void ifRangeMismatchSendsTheWholeFile() throws Exception {
+        MockHttpServletRequest stale = range("bytes=0-9");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"old.png\"");
+        MockHttpServletResponse response = serve(stale);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+
+        MockHttpServletRequest current = range("bytes=0-9");
+        current.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        assertPartial(current, 0, 9);
+    }
+
+    @Test
+    void ifNoneMatchIsNotModified() throws Exception {
+        for (String header : new String[] {ETAG, "\"other\", W/" + ETAG, "*"}) {
+            MockHttpServletRequest request = request();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, header);
+            MockHttpServletResponse response = serve(request);
+
+            assertThat(response.getStatus()).as(header).isEqualTo(304);
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+
+        MockHttpServletRequest other = request();
+        other.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        assertThat(serve(other).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws Exception {
+        MockHttpServletRequest request = range("bytes=-10");
+        request.setMethod("HEAD");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void largeBodiesAreHandedToSendfile() throws Exception {
+        byte[] large = new byte[64 * 1024];
+        Path photo = Files.write(dir.resolve("cd".repeat(32) + ".jpg"), large);
+        when(photoStore.resolve(eq("large.jpg"), anyBoolean())).thenReturn(Optional.of(photo));
+        MockHttpServletRequest request = range("bytes=1024-");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve("large.jpg", null, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(photo.toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(1024L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) large.length);
+    }
+
+    @Test
+    void unknownPhotoIs404() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve("missing.png", null, request(), response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private void assertPartial(MockHttpServletRequest request, int start, int end) throws Exception {
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes " + start + "-" + end + "/100");
+        assertThat(response.getContentLengthLong()).isEqualTo(end - start + 1);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(bytes, start, end + 1));
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(NAME, null, request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/photos/" + NAME);
+    }
+
+    private static MockHttpServletRequest range(String header) {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, header);
+        return request;
+    }
+}
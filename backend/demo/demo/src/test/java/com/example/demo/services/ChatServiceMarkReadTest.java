@@ -0,0 +1,89 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.ChatMessage;
+import com.example.demo.repository.ChatMessageRepository;
+import com.example.demo.repository.ConversationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ChatServiceMarkReadTest {
+
+    private static final long SENDER = 1L;
+    private static final long READER = 2L;
+
+    @Autowired
+    private ChatMessageRepository messageRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UnreadCounterService unreadCounters;
+    private ChatService chatService;
+
+    // Built by hand: as beans, ChatService's startup backfill would run
+    // Postgres-only SQL and the counters would carry over between tests
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        unreadCounters = new UnreadCounterService(conversationRepository, 60);
+        chatService = new ChatService(messageRepository, conversationRepository,
+                mock(ChatMessageIdAllocator.class), mock(ChatMessageWriter.class),
+                mock(ObjectProvider.class), unreadCounters, mock(TransactionTemplate.class));
+
+        for (long id = 1; id <= 3; id++) {
+            ChatMessage message = new ChatMessage();
+            message.setId(id);
+            message.setSenderId(SENDER);
+            message.setReceiverId(READER);
+            message.setContent("message " + id);
+            entityManager.persist(message);
+        }
+        entityManager.getEntityManager().createNativeQuery("""
+                INSERT INTO conversations
+                    (owner_id, contact_id, conversation_key, last_message, last_message_id,
+                     last_message_time, unread_count, last_read_message_id)
+                VALUES (?1, ?2, ?3, 'message 3', 3, ?4, 3, 0)
+                """)
+                .setParameter(1, READER)
+                .setParameter(2, SENDER)
+                .setParameter(3, ChatMessage.conversationKey(SENDER, READER))
+                .setParameter(4, LocalDateTime.now())
+                .executeUpdate();
+        entityManager.flush();
+    }
+
+    @Test
+    void partialMarkReadKeepsTheMessagesAboveTheWatermarkUnread() {
+        assertThat(unreadCounters.getTotal(READER)).isEqualTo(3);
+
+        chatService.markAsRead(SENDER, READER, 1L);
+
+        assertThat(unreadCounters.getTotal(READER)).isEqualTo(2);
+        assertThat(unreadCounters.getByContact(READER)).isEqualTo(Map.of(SENDER, 2L));
+    }
+
+    @Test
+    void fullMarkReadClearsTheContact() {
+        assertThat(unreadCounters.getTotal(READER)).isEqualTo(3);
+
+        chatService.markAsRead(SENDER, READER, null);
+
+        assertThat(unreadCounters.getTotal(READER)).isZero();
+        assertThat(unreadCounters.getByContact(READER)).isEmpty();
+    }
+}
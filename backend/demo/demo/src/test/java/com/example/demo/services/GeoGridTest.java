@@ -0,0 +1,106 @@
+package com.example.demo.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoGridTest {
+
+    private GeoGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new GeoGrid(1.0);
+    }
+
+    @Test
+    void radiusReachesAcrossTheAntimeridian() {
+        grid.put(1, -17.0, -179.9);   // ~21 km east of the centre, across ±180
+        grid.put(2, -17.0, 178.0);    // ~200 km west
+        grid.put(3, -17.3, 179.8);    // ~35 km south-west
+        fillElsewhere(10);
+
+        List<GeoGrid.Hit> hits = grid.withinRadius(-17.0, 179.9, 50, 10);
+
+        assertThat(ids(hits)).containsExactly(1L, 3L);
+        assertThat(hits.get(0).distanceKm()).isCloseTo(21.3, within(0.5));
+    }
+
+    @Test
+    void boxAcrossTheAntimeridianWraps() {
+        grid.put(1, 10.0, 179.0);
+        grid.put(2, 12.0, -175.0);
+        grid.put(3, 10.0, 160.0);
+        grid.put(4, 10.0, 0.0);
+        grid.put(5, 30.0, 179.5);     // right longitude, above the box
+
+        List<GeoGrid.Hit> hits = grid.withinBox(5, 170, 20, -170, 10, 179.5, 10);
+
+        assertThat(ids(hits)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void sparseCellScanAndDensePointScanAgree() {
+        grid.put(1, 51.50, -0.12);
+        grid.put(2, 51.75, -1.25);
+        grid.put(3, 48.85, 2.35);
+
+        // Box covers more cells than there are points: scans the points
+        List<GeoGrid.Hit> dense = grid.withinRadius(51.5, -0.1, 100, 10);
+        fillElsewhere(1000);
+        // Same query now walks the cells
+        List<GeoGrid.Hit> sparse = grid.withinRadius(51.5, -0.1, 100, 10);
+
+        assertThat(ids(dense)).containsExactly(1L, 2L);
+        assertThat(sparse).isEqualTo(dense);
+    }
+
+    @Test
+    void limitKeepsTheNearest() {
+        for (int i = 1; i <= 20; i++) {
+            grid.put(i, 0.0, i * 0.01);
+        }
+
+        assertThat(ids(grid.withinRadius(0, 0, 500, 3))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(grid.withinBox(-1, -1, 1, 1, 0, 0.2, 2))).containsExactly(20L, 19L);
+    }
+
+    @Test
+    void putMovesAPointAndRemoveDropsIt() {
+        grid.put(1, 40.0, -74.0);
+        grid.put(1, 34.0, -118.0);
+
+        assertThat(grid.size()).isEqualTo(1);
+        assertThat(grid.withinRadius(40.0, -74.0, 50, 10)).isEmpty();
+        assertThat(ids(grid.withinRadius(34.0, -118.0, 50, 10))).containsExactly(1L);
+
+        grid.remove(1);
+        assertThat(grid.size()).isZero();
+        assertThat(grid.withinRadius(34.0, -118.0, 50, 10)).isEmpty();
+    }
+
+    @Test
+    void polarRadiusCoversEveryLongitude() {
+        grid.put(1, 89.5, 0.0);
+        grid.put(2, 89.5, 180.0);
+        grid.put(3, 89.5, -90.0);
+        fillElsewhere(1000);
+
+        assertThat(ids(grid.withinRadius(89.9, 45.0, 100, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    // Points far from every query, to push the grid onto its cell scan
+    private void fillElsewhere(int count) {
+        for (int i = 0; i < count; i++) {
+            grid.put(1000 + i, -60.0, -60.0 + (i % 100) * 0.01);
+        }
+    }
+
+    private static List<Long> ids(List<GeoGrid.Hit> hits) {
+        return hits.stream().map(GeoGrid.Hit::id).toList();
+    }
+}
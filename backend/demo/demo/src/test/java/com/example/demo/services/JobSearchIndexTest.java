@@ -0,0 +1,126 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.entity.Job;
+import com.example.demo.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobSearchIndexTest {
+
+    private JobRepository jobRepository;
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.findListingsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<JobListingDTO> rows = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                rows.add(new JobListingDTO(id, "job " + id, null, null, null, null,
+                        "OPEN", null, null, null, null));
+            }
+            return rows;
+        });
+        index = new JobSearchIndex(jobRepository);
+    }
+
+    @Test
+    void matchAllIntersectsAndMatchAnyMerges() {
+        openJobs(
+                row(1, "Plumber", "Fix leaking pipes", null),
+                row(2, "Plumber", "Bathroom work", null),
+                row(3, "Electrician", "Rewire, no pipes", null),
+                row(4, "Painter", "Walls", null));
+
+        assertThat(ids(index.search("plumber pipes", true, 10))).containsExactly(1L);
+        // Job 1 has both terms, 2 only the title term, 3 only a description match
+        assertThat(ids(index.search("plumber pipes", false, 10))).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("plumber roofer", true, 10)).isEmpty();
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        openJobs(
+                row(1, "Carpenter", "Welding helpful", null),
+                row(2, "Welder", "Steel frames", null));
+
+        assertThat(ids(index.search("welding welder", false, 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.search("carpenter", false, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        openJobs(
+                row(1, "Roofer", "roofer", "roofer"),
+                row(2, "Helper", "roofer", null),
+                row(3, "Roofer", null, null));
+
+        assertThat(ids(index.search("roofer", false, 2))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void updatesAddAndRemoveJobs() {
+        openJobs(row(1, "Plumber", null, null));
+
+        index.update(job(2, "Plumber apprentice", "OPEN"));
+        assertThat(ids(index.search("plumber", false, 10))).containsExactlyInAnyOrder(1L, 2L);
+
+        index.update(job(1, "Plumber", "CLOSED"));
+        assertThat(ids(index.search("plumber", false, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void updatesDuringRebuildAreReplayed() {
+        when(jobRepository.findOpenJobText(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            // Saved while the rebuild is reading: one new job, one closed
+            index.update(job(5, "Tiler", "OPEN"));
+            index.update(job(1, "Plumber", "CLOSED"));
+            return List.<Object[]>of(row(1, "Plumber", null, null), row(2, "Tiler", null, null));
+        });
+        index.rebuild();
+
+        assertThat(ids(index.search("tiler", false, 10))).containsExactlyInAnyOrder(2L, 5L);
+        assertThat(index.search("plumber", false, 10)).isEmpty();
+    }
+
+    @Test
+    void tokenizeDropsStopWordsAndSingleCharacters() {
+        assertThat(JobSearchIndex.tokenize("The C# and Java-Developer, a 2D role"))
+                .containsExactly("java", "developer", "2d", "role");
+    }
+
+    private void openJobs(Object[]... rows) {
+        when(jobRepository.findOpenJobText(eq(0L), any(Limit.class))).thenReturn(List.of(rows));
+        index.rebuild();
+    }
+
+    private static Object[] row(long id, String title, String description, String skills) {
+        return new Object[] {id, title, description, skills};
+    }
+
+    private static Job job(long id, String title, String status) {
+        Job job = new Job();
+        ReflectionTestUtils.setField(job, "id", id);
+        job.setTitle(title);
+        job.setStatus(status);
+        return job;
+    }
+
+    private static List<Long> ids(List<JobListingDTO> jobs) {
+        return jobs.stream().map(JobListingDTO::getId).toList();
+    }
+}
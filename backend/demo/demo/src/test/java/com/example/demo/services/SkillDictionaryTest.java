@@ -0,0 +1,102 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.Skill;
+import com.example.demo.repository.JobRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.SkillRepository;
+import com.example.demo.repository.WorkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillDictionaryTest {
+
+    // Stands in for the skills table: name -> row, ids handed out in insert order
+    private final Map<String, Skill> table = new LinkedHashMap<>();
+
+    private SkillDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        doAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            table.computeIfAbsent(name, n -> skill(table.size(), n, invocation.getArgument(1)));
+            return null;
+        }).when(skillRepository).insertIfAbsent(anyString(), anyString());
+        when(skillRepository.findByName(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+
+        dictionary = new SkillDictionary(skillRepository, mock(JobRepository.class),
+                mock(ProjectRepository.class), mock(WorkerRepository.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void spellingsOfOneSkillShareAnId() {
+        Integer id = dictionary.intern("React.js");
+
+        assertThat(dictionary.intern(" react.js ")).isEqualTo(id);
+        assertThat(dictionary.intern("REACT.JS")).isEqualTo(id);
+        assertThat(dictionary.lookup("react   .js")).isNull();
+        assertThat(dictionary.intern("  ")).isNull();
+        assertThat(dictionary.label(id)).isEqualTo("React.js");
+    }
+
+    @Test
+    void masksGrowPastOneWordAndCountOverlap() {
+        List<String> many = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            many.add("skill " + i);
+        }
+        long[] all = dictionary.toMask(many);
+        long[] some = dictionary.toMask("skill 1, skill 65,Skill  69, welding");
+
+        assertThat(all).hasSize(2);
+        assertThat(SkillDictionary.count(all)).isEqualTo(70);
+        assertThat(SkillDictionary.count(some)).isEqualTo(4);
+        assertThat(SkillDictionary.overlap(all, some)).isEqualTo(3);
+        assertThat(SkillDictionary.overlap(some, new long[] {1L << 1})).isEqualTo(1);
+        assertThat(SkillDictionary.overlap(all, null)).isZero();
+        assertThat(dictionary.labels(some)).containsExactly("skill 1", "skill 65", "skill 69", "welding");
+    }
+
+    @Test
+    void findSeesSkillsInternedElsewhere() {
+        table.put("plumbing", skill(7, "plumbing", "Plumbing"));
+
+        assertThat(dictionary.lookup("Plumbing")).isNull();
+        assertThat(dictionary.find(" PLUMBING ")).isEqualTo(7);
+        assertThat(dictionary.lookup("plumbing")).isEqualTo(7);
+        assertThat(dictionary.find("roofing")).isNull();
+    }
+
+    @Test
+    void tidyKeepsCaseAndNormalizeLowersIt() {
+        assertThat(SkillDictionary.tidy(List.of("  React   Native ", "", "Go")))
+                .containsExactly("React Native", "Go");
+        assertThat(SkillDictionary.normalize("  React \t Native ")).isEqualTo("react native");
+        assertThat(SkillDictionary.normalize("   ")).isNull();
+    }
+
+    private static Skill skill(int id, String name, String label) {
+        Skill skill = new Skill();
+        ReflectionTestUtils.setField(skill, "id", id);
+        ReflectionTestUtils.setField(skill, "name", name);
+        ReflectionTestUtils.setField(skill, "label", label);
+        return skill;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.ChatMessage;
+import com.example.demo.repository.ConversationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UnreadCounterServiceTest {
+
+    private static final long SENDER = 1L;
+    private static final long READER = 2L;
+
+    private ConversationRepository conversationRepository;
+    private UnreadCounterService counters;
+
+    @BeforeEach
+    void setUp() {
+        conversationRepository = mock(ConversationRepository.class);
+        counters = new UnreadCounterService(conversationRepository, 60);
+    }
+
+    @Test
+    void messageSentDuringTheLoadIsCounted() {
+        // Message 4 commits after the read's snapshot, while the load is running
+        when(conversationRepository.findUnreadCounts(READER)).thenAnswer(invocation -> {
+            counters.increment(message(4));
+            return List.<Object[]>of(new Object[] {SENDER, 3L, 3L});
+        });
+
+        assertThat(counters.getTotal(READER)).isEqualTo(4);
+    }
+
+    @Test
+    void messageAlreadyInTheSnapshotIsNotCountedTwice() {
+        // Message 3 committed before the snapshot but was counted during the load
+        when(conversationRepository.findUnreadCounts(READER)).thenAnswer(invocation -> {
+            counters.increment(message(3));
+            return List.<Object[]>of(new Object[] {SENDER, 3L, 3L});
+        });
+
+        assertThat(counters.getTotal(READER)).isEqualTo(3);
+    }
+
+    @Test
+    void unwrittenMessagesSurviveLoadAndRecount() {
+        ChatMessage queued = message(4);
+        counters.awaitingWrite(queued);
+        when(conversationRepository.findUnreadCounts(READER))
+                .thenReturn(List.<Object[]>of(new Object[] {SENDER, 3L, 3L}));
+
+        assertThat(counters.getTotal(READER)).isEqualTo(4);
+
+        // Read up to message 1: 2 and 3 are left in the row, 4 is still queued
+        counters.recount(READER, SENDER, () -> List.<Object[]>of(new Object[] {2L, 1L, 3L}));
+        assertThat(counters.getByContact(READER)).isEqualTo(Map.of(SENDER, 3L));
+
+        // Read up to message 4 before it was flushed
+        counters.recount(READER, SENDER, () -> List.<Object[]>of(new Object[] {0L, 4L, 3L}));
+        assertThat(counters.getTotal(READER)).isZero();
+    }
+
+    @Test
+    void messageFlushedDuringTheRecountIsNotLost() {
+        when(conversationRepository.findUnreadCounts(READER)).thenReturn(List.of());
+        assertThat(counters.getTotal(READER)).isZero();
+
+        ChatMessage queued = message(4);
+        counters.awaitingWrite(queued);
+        counters.increment(queued);
+
+        // The flush commits after the recount read the row
+        counters.recount(READER, SENDER, () -> {
+            List<Object[]> state = List.<Object[]>of(new Object[] {0L, 3L, 3L});
+            counters.written(List.of(queued));
+            return state;
+        });
+
+        assertThat(counters.getTotal(READER)).isEqualTo(1);
+    }
+
+    private static ChatMessage message(long id) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setSenderId(SENDER);
+        message.setReceiverId(READER);
+        return message;
+    }
+}
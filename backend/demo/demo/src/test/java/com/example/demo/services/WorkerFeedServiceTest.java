@@ -0,0 +1,177 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.JobListingDTO;
+import com.example.demo.entity.Job;
+import com.example.demo.entity.User;
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.JobRepository;
+import com.example.demo.repository.WorkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkerFeedServiceTest {
+
+    private static final long WORKER = 10L;
+
+    private JobRepository jobRepository;
+    private WorkerRepository workerRepository;
+    private WorkerFeedService feeds;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        workerRepository = mock(WorkerRepository.class);
+        when(jobRepository.findListingsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<JobListingDTO> rows = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                rows.add(new JobListingDTO(id, "job " + id, null, null, null, null,
+                        "OPEN", null, null, null, null));
+            }
+            return rows;
+        });
+        // Skills 0 and 1, 20/h, in Austin
+        when(workerRepository.findById(WORKER))
+                .thenReturn(Optional.of(worker(WORKER, mask(0, 1), 20.0, "Austin, TX")));
+        feeds = new WorkerFeedService(jobRepository, workerRepository, 100, 3);
+    }
+
+    @Test
+    void jobsAreRankedBySkillsCityAndPay() {
+        openJobs(
+                row(1, mask(0, 2), 10.0, null),       // 0.5 x 1/2 + 0.2 x 0.5 = 0.35
+                row(2, mask(0), 20.0, "austin"),      // 0.5 + 0.3 + 0.2 = 1.0
+                row(3, mask(3), 90.0, "Austin"),      // no shared skill
+                row(4, mask(1), 40.0, "Dallas"));     // 0.5 + 0.2 = 0.7
+
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(2L, 4L, 1L);
+        assertThat(ids(feeds.getFeed(WORKER, 1, 2))).containsExactly(1L);
+        assertThat(feeds.getFeed(WORKER, 0, 2).orElseThrow().getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void savedJobsArePatchedIntoTheCachedFeed() {
+        openJobs(row(1, mask(0, 2), 10.0, null));
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(1L);
+
+        feeds.onJobSaved(job(5, mask(1), 20.0, "Austin", "OPEN"));
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(5L, 1L);
+
+        feeds.onJobSaved(job(1, mask(0, 2), 10.0, null, "CLOSED"));
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(5L);
+
+        // Served from the cache each time, never rescored
+        verify(workerRepository, times(1)).findById(WORKER);
+    }
+
+    @Test
+    void jobSavedWhileScoringIsReplayedOntoTheFeed() {
+        openJobs(row(1, mask(0, 2), 10.0, null), row(2, mask(1), 10.0, null));
+        Worker worker = worker(WORKER, mask(0, 1), 20.0, "Austin, TX");
+        when(workerRepository.findById(WORKER)).thenAnswer(invocation -> {
+            // Saved after the snapshot of the open-job table was taken
+            feeds.onJobSaved(job(7, mask(0), 30.0, "Austin", "OPEN"));
+            feeds.onJobSaved(job(2, mask(1), 10.0, null, "CLOSED"));
+            return Optional.of(worker);
+        });
+
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(7L, 1L);
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(7L, 1L);
+        verify(workerRepository, times(1)).findById(WORKER);
+    }
+
+    @Test
+    void feedScoredAcrossAnInvalidationIsNotCached() {
+        openJobs(row(1, mask(0), 10.0, null));
+        Worker worker = worker(WORKER, mask(0), 20.0, null);
+        when(workerRepository.findById(WORKER)).thenAnswer(invocation -> {
+            feeds.invalidate(WORKER);
+            return Optional.of(worker);
+        });
+
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(1L);
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(1L);
+        verify(workerRepository, times(2)).findById(WORKER);
+    }
+
+    @Test
+    void truncatedFeedIsRescoredOnceItLosesEntries() {
+        // maxItems is 3: job 4 is cut off
+        openJobs(
+                row(1, mask(0), 20.0, "Austin"),
+                row(2, mask(0), 16.0, "Austin"),
+                row(3, mask(0), 12.0, "Austin"),
+                row(4, mask(0), 8.0, "Austin"));
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(1L, 2L, 3L);
+
+        feeds.onJobSaved(job(2, mask(0), 16.0, "Austin", "CLOSED"));
+        assertThat(ids(feeds.getFeed(WORKER, 0, 10))).containsExactly(1L, 3L, 4L);
+        verify(workerRepository, times(2)).findById(WORKER);
+    }
+
+    @Test
+    void unknownWorkerHasNoFeed() {
+        openJobs(row(1, mask(0), 10.0, null));
+
+        assertThat(feeds.getFeed(99L, 0, 10)).isEmpty();
+    }
+
+    private void openJobs(Object[]... rows) {
+        when(jobRepository.findOpenJobFeatures(eq(0L), any(Limit.class))).thenReturn(List.of(rows));
+        feeds.rebuild();
+    }
+
+    private static Object[] row(long id, long[] skillMask, Double payRate, String location) {
+        return new Object[] {id, skillMask, payRate, location};
+    }
+
+    private static long[] mask(int... skillIds) {
+        long[] mask = new long[1];
+        for (int id : skillIds) {
+            mask[0] |= 1L << id;
+        }
+        return mask;
+    }
+
+    private static Job job(long id, long[] skillMask, Double payRate, String location, String status) {
+        Job job = new Job();
+        ReflectionTestUtils.setField(job, "id", id);
+        job.setSkillMask(skillMask);
+        job.setPayRate(payRate);
+        job.setLocation(location);
+        job.setStatus(status);
+        return job;
+    }
+
+    private static Worker worker(long id, long[] skillMask, Double hourlyRate, String location) {
+        User user = new User();
+        user.setId(id + 1000);
+        user.setLocation(location);
+        Worker worker = new Worker();
+        ReflectionTestUtils.setField(worker, "id", id);
+        worker.setSkillMask(skillMask);
+        worker.setHourlyRate(hourlyRate);
+        worker.setUser(user);
+        return worker;
+    }
+
+    private static List<Long> ids(Optional<Page<JobListingDTO>> page) {
+        return page.orElseThrow().getContent().stream().map(JobListingDTO::getId).toList();
+    }
+}
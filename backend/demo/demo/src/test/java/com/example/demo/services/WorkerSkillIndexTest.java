@@ -0,0 +1,135 @@
+package com.example.demo.services;
+
+import com.example.demo.entity.Worker;
+import com.example.demo.repository.WorkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkerSkillIndexTest {
+
+    private WorkerRepository workerRepository;
+    private WorkerSkillIndex index;
+
+    @BeforeEach
+    void setUp() {
+        workerRepository = mock(WorkerRepository.class);
+        index = new WorkerSkillIndex(workerRepository, true);
+    }
+
+    @Test
+    void intersectPagesAfterTheCursor() {
+        workers(
+                row(1, "Full-time", 0, 1),
+                row(2, "full-time", 0),
+                row(3, "full-time", 0, 1, 2),
+                row(4, "part-time", 0, 1),
+                row(5, "full-time", 1, 0),
+                row(6, "full-time", 0, 1));
+
+        assertThat(find("FULL-TIME", List.of(0, 1), true, null, 10)).containsExactly(1L, 3L, 5L, 6L);
+        assertThat(find("full-time", List.of(0, 1), true, null, 2)).containsExactly(1L, 3L);
+        assertThat(find("full-time", List.of(0, 1), true, 3L, 2)).containsExactly(5L, 6L);
+        assertThat(find("full-time", List.of(0, 1), true, 6L, 2)).isEmpty();
+    }
+
+    @Test
+    void unionPagesAfterTheCursorInIdOrder() {
+        workers(
+                row(1, "full-time", 0),
+                row(2, "full-time", 1),
+                row(3, "full-time", 0),
+                row(4, "full-time", 2),
+                row(5, "full-time", 1),
+                row(6, "full-time", 0, 1));
+
+        assertThat(find("full-time", List.of(0, 1), false, null, 3)).containsExactly(1L, 2L, 3L);
+        assertThat(find("full-time", List.of(0, 1), false, 3L, 3)).containsExactly(5L, 6L);
+        assertThat(find("full-time", List.of(1, 0), false, 1L, 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void unknownSkillEmptiesAllButIsSkippedForAny() {
+        workers(row(1, "full-time", 0), row(2, "full-time", 1));
+
+        assertThat(find("full-time", Arrays.asList(0, null), true, null, 10)).isEmpty();
+        assertThat(find("full-time", List.of(0, 9), true, null, 10)).isEmpty();
+        assertThat(find("full-time", Arrays.asList(null, 1), false, null, 10)).containsExactly(2L);
+        assertThat(find("contract", List.of(0), false, null, 10)).isEmpty();
+    }
+
+    @Test
+    void updatesMoveAndRemoveWorkers() {
+        workers(row(1, "full-time", 0), row(2, "full-time", 0));
+
+        index.update(worker(2, "part-time", 0));
+        index.update(worker(3, "full-time", 0));
+        assertThat(find("full-time", List.of(0), true, null, 10)).containsExactly(1L, 3L);
+        assertThat(find("part-time", List.of(0), true, null, 10)).containsExactly(2L);
+
+        index.remove(1L);
+        index.update(worker(3, "full-time"));
+        assertThat(find("full-time", List.of(0), true, null, 10)).isEmpty();
+    }
+
+    @Test
+    void updatesDuringRebuildAreReplayed() {
+        when(workerRepository.findMatchingFeatures()).thenAnswer(invocation -> {
+            // Saved while the rebuild is reading
+            index.update(worker(3, "full-time", 0));
+            index.remove(1L);
+            return List.<Object[]>of(row(1, "full-time", 0), row(2, "full-time", 0));
+        });
+        index.rebuild();
+
+        assertThat(find("full-time", List.of(0), true, null, 10)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void emptyUntilBuiltOrWhenDisabled() {
+        assertThat(index.find("full-time", List.of(0), true, null, 10)).isEmpty();
+
+        WorkerSkillIndex disabled = new WorkerSkillIndex(workerRepository, false);
+        when(workerRepository.findMatchingFeatures()).thenReturn(List.<Object[]>of(row(1, "full-time", 0)));
+        disabled.rebuild();
+        assertThat(disabled.find("full-time", List.of(0), true, null, 10)).isEmpty();
+    }
+
+    private void workers(Object[]... rows) {
+        when(workerRepository.findMatchingFeatures()).thenReturn(List.of(rows));
+        index.rebuild();
+    }
+
+    private List<Long> find(String availability, List<Integer> skillIds, boolean matchAll,
+            Long afterId, int limit) {
+        return index.find(availability, skillIds, matchAll, afterId, limit).orElseThrow();
+    }
+
+    // Same columns as findMatchingFeatures: id, user id, mask, rate, experience, availability, location
+    private static Object[] row(long id, String availability, int... skillIds) {
+        return new Object[] {id, id + 1000, mask(skillIds), null, null, availability, null};
+    }
+
+    private static Worker worker(long id, String availability, int... skillIds) {
+        Worker worker = new Worker();
+        ReflectionTestUtils.setField(worker, "id", id);
+        worker.setAvailability(availability);
+        worker.setSkillMask(mask(skillIds));
+        return worker;
+    }
+
+    private static long[] mask(int... skillIds) {
+        long[] mask = new long[1];
+        for (int id : skillIds) {
+            mask[0] |= 1L << id;
+        }
+        return mask;
+    }
+}